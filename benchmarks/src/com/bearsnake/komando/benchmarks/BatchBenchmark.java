@@ -0,0 +1,78 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures batch parsing of many command lines against one specification, sequentially and in parallel
+ * with varying numbers of worker threads. Comparing the parallelism levels shows how well batch parsing scales.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param({ "10000" })
+    public int lineCount;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    private CommandLineParser _parser;
+    private List<String[]> _commandLines;
+    private ForkJoinPool _pool;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = Specs.createHandler(100).build();
+        _commandLines = new LinkedList<>();
+        for (var lx = 0; lx < lineCount; ++lx) {
+            _commandLines.add(((lx & 07) == 0) ? Specs.createErroneousArguments(100, 20) : Specs.createArguments(100));
+        }
+        _pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        _pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Result> parseSequentially() {
+        var results = new LinkedList<Result>();
+        for (var args : _commandLines) {
+            results.add(_parser.parse(args));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Result> parseAll() {
+        return _parser.parseAll(_commandLines, _pool);
+    }
+}
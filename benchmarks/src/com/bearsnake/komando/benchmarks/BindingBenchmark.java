@@ -0,0 +1,85 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.Binding;
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.annotations.CommandLineOptions;
+import com.bearsnake.komando.annotations.Flag;
+import com.bearsnake.komando.annotations.Option;
+import com.bearsnake.komando.annotations.Positional;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the parser generated from an annotated options record with a CommandLineHandler for the same
+ * specification - both parsing alone, and (as a short-lived program must) building the specification and then
+ * parsing once. The handler results do not include reading the values back out of the Result, which the generated
+ * parser has already done.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class BindingBenchmark {
+
+    @CommandLineOptions(helpSwitch = true)
+    public record Options(
+        @Flag(shortName = "v", longName = "verbose", description = "Reports progress", excludes = "quiet") boolean verbose,
+        @Flag(shortName = "q", longName = "quiet", description = "Reports nothing") boolean quiet,
+        @Flag(shortName = "f", longName = "force", description = "Overwrites existing files") boolean force,
+        @Option(shortName = "n", longName = "count", description = "Number of copies", required = true) long count,
+        @Option(shortName = "r", longName = "ratio", description = "Compression ratio") double ratio,
+        @Option(shortName = "m", longName = "mode", description = "Copy mode", requires = "force") String mode,
+        @Option(shortName = "t", longName = "tag", description = "Tags to apply") List<String> tags,
+        @Option(shortName = "s", longName = "sizes", description = "Block sizes") List<Long> sizes,
+        @Positional(valueName = "source", description = "File to copy", required = true) String source,
+        @Positional(valueName = "targets", description = "Where to copy it") List<String> targets
+    ) {}
+
+    private static final String[] ARGUMENTS = {
+        "-v", "--force", "-n", "3", "--ratio=0.75", "-m", "'fast'", "-t", "a,b,'c,d'", "--sizes=512,0x1000",
+        "input.txt", "out1.txt", "out2.txt"
+    };
+
+    private CommandLineParser _parser;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = BindingBenchmark_OptionsParser.createHandler().build();
+    }
+
+    @Benchmark
+    public Binding<Options> parseGenerated() {
+        return BindingBenchmark_OptionsParser.parse(ARGUMENTS);
+    }
+
+    @Benchmark
+    public Result parseHandler() {
+        return _parser.parse(ARGUMENTS);
+    }
+
+    @Benchmark
+    public Result buildAndParseHandler() throws KomandoException {
+        return BindingBenchmark_OptionsParser.createHandler().build().parse(ARGUMENTS);
+    }
+}
@@ -0,0 +1,79 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Result cache, by parsing a rotating working set of distinct command lines with and without it.
+ * With a working set no larger than the cache, every parse after the first round is a hit;
+ * with a larger working set, every parse is a miss, which shows the cost of the cache when it does not help.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+    @Param({ "10", "100" })
+    public int switchCount;
+
+    @Param({ "0", "256" })
+    public int cacheSize;
+
+    @Param({ "64", "1024" })
+    public int workingSet;
+
+    private CommandLineParser _parser;
+    private String[][] _argumentSets;
+    private String[] _commandLines;
+    private int _next = 0;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = Specs.createHandler(switchCount).setResultCache(cacheSize).build();
+        _argumentSets = new String[workingSet][];
+        _commandLines = new String[workingSet];
+        var commandLine = Specs.createCommandLine(switchCount);
+        for (var wx = 0; wx < workingSet; ++wx) {
+            // Only the trailing file name differs from one command line to the next
+            var args = Specs.createArguments(switchCount);
+            args[args.length - 1] = "input-" + wx + ".txt";
+            _argumentSets[wx] = args;
+            _commandLines[wx] = commandLine.replace("input.txt", "input-" + wx + ".txt");
+        }
+    }
+
+    @Benchmark
+    public Result parse() {
+        _next = (_next + 1) % workingSet;
+        return _parser.parse(_argumentSets[_next]);
+    }
+
+    @Benchmark
+    public Result parseCommandLine() {
+        _next = (_next + 1) % workingSet;
+        return _parser.parse(_commandLines[_next]);
+    }
+}
@@ -0,0 +1,119 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.restrictions.EnumerationRestriction;
+import com.bearsnake.komando.restrictions.Restriction;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.StringValue;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+import com.bearsnake.komando.values.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures EnumerationRestriction with large sets of accepted values, of string and fixed-point types:
+ * construction (run with -prof gc, its allocation rate per operation indicates the footprint of the restriction),
+ * checking single accepted and rejected values, and checking a whole list of switch values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumerationBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    @Param({ "10", "1000", "50000" })
+    public int acceptedCount;
+
+    @Param({ "STRING", "FIXED_POINT" })
+    public ValueType valueType;
+
+    private List<Value> _acceptedValues;
+    private Restriction _restriction;
+    private Value _acceptedValue;
+    private Value _rejectedValue;
+    private ValueList _values;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _acceptedValues = new LinkedList<>();
+        for (var ax = 0; ax < acceptedCount; ++ax) {
+            _acceptedValues.add(createValue(ax));
+        }
+        _restriction = new EnumerationRestriction(_acceptedValues);
+        _acceptedValue = createValue(acceptedCount - 1);
+        _rejectedValue = createValue(acceptedCount);
+
+        var builder = ValueList.createBuilder(valueType);
+        for (var vx = 0; vx < LIST_SIZE; ++vx) {
+            var text = createValue((vx * 7919) % acceptedCount).toString();
+            builder.add(text, 0, text.length());
+        }
+        _values = builder.build();
+    }
+
+    private Value createValue(
+        final int index
+    ) {
+        return (valueType == ValueType.STRING)
+            ? new StringValue(String.format("ACCT%06d", index))
+            : new FixedPointValue(1000000L + 3L * index);
+    }
+
+    @Benchmark
+    public Restriction construct() {
+        return new EnumerationRestriction(_acceptedValues);
+    }
+
+    @Benchmark
+    public boolean checkAccepted() {
+        return check(_acceptedValue);
+    }
+
+    @Benchmark
+    public boolean checkRejected() {
+        return check(_rejectedValue);
+    }
+
+    @Benchmark
+    public boolean checkList() {
+        try {
+            _restriction.check(_values, 0, _values.size());
+            return true;
+        } catch (KomandoException ex) {
+            return false;
+        }
+    }
+
+    private boolean check(
+        final Value value
+    ) {
+        try {
+            _restriction.check(value);
+            return true;
+        } catch (KomandoException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures argument vectors in which most tokens are wrong, so that the cost is dominated by
+ * error detection and message creation. parseInvalidValues() specifies only switches whose values fail
+ * conversion or restriction checking. The parse benchmarks do not look at the text of the messages, as a caller
+ * which only checks Result.hasErrors() would not; parseAndRender() also renders the text of every message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorBenchmark {
+
+    private static final int SWITCH_COUNT = 100;
+
+    @Param({ "10", "1000" })
+    public int errorCount;
+
+    private CommandLineParser _parser;
+    private String[] _arguments;
+    private String[] _invalidValueArguments;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = Specs.createHandler(SWITCH_COUNT).build();
+        _arguments = Specs.createErroneousArguments(SWITCH_COUNT, errorCount);
+        _invalidValueArguments = Specs.createInvalidValueArguments(SWITCH_COUNT, errorCount);
+    }
+
+    @Benchmark
+    public Result parse() {
+        return _parser.parse(_arguments);
+    }
+
+    @Benchmark
+    public Result parseInvalidValues() {
+        return _parser.parse(_invalidValueArguments);
+    }
+
+    @Benchmark
+    public int parseAndRender() {
+        var length = 0;
+        for (var message : _parser.parse(_arguments)._messages) {
+            length += message.toString().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,70 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.ParseMetrics;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of collecting ParseMetrics, by parsing the same command lines with and without metrics.
+ * parseErroneous() also exercises the message counters. Run with -t to see how the counters behave when
+ * several threads share them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({ "10", "100" })
+    public int switchCount;
+
+    @Param({ "false", "true" })
+    public boolean metrics;
+
+    private CommandLineParser _parser;
+    private String[] _arguments;
+    private String[] _erroneousArguments;
+
+    @Setup
+    public void setup() throws KomandoException {
+        var handler = Specs.createHandler(switchCount);
+        if (metrics) {
+            handler.setMetrics(new ParseMetrics());
+        }
+        _parser = handler.build();
+        _arguments = Specs.createArguments(switchCount);
+        _erroneousArguments = Specs.createErroneousArguments(switchCount, 10);
+    }
+
+    @Benchmark
+    public Result parse() {
+        return _parser.parse(_arguments);
+    }
+
+    @Benchmark
+    public Result parseErroneous() {
+        return _parser.parse(_erroneousArguments);
+    }
+}
@@ -0,0 +1,55 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures multi-valued ArgumentSwitch values carrying thousands of comma-separated elements,
+ * for each of the value types.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiValueBenchmark {
+
+    @Param({ "ids", "factors", "names", "flags" })
+    public String switchName;
+
+    @Param({ "1000", "10000" })
+    public int elementCount;
+
+    private CommandLineParser _parser;
+    private String[] _arguments;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = Specs.createMultiValueHandler().build();
+        _arguments = new String[]{ "--" + switchName + "=" + Specs.createValueList(switchName, elementCount) };
+    }
+
+    @Benchmark
+    public Result parse() {
+        return _parser.parse(_arguments);
+    }
+}
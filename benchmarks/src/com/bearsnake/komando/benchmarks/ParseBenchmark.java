@@ -0,0 +1,73 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineHandler;
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full parse path - switch lookup, value conversion, and constraint validation -
+ * for small and large specifications, with every switch specified. parseCommandLine additionally
+ * tokenizes the equivalent whole command line.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int switchCount;
+
+    private CommandLineHandler _handler;
+    private CommandLineParser _parser;
+    private String[] _arguments;
+    private String _commandLine;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _handler = Specs.createHandler(switchCount);
+        _parser = _handler.build();
+        _arguments = Specs.createArguments(switchCount);
+        _commandLine = Specs.createCommandLine(switchCount);
+    }
+
+    @Benchmark
+    public Result parse() {
+        return _parser.parse(_arguments);
+    }
+
+    @Benchmark
+    public Result parseCommandLine() {
+        return _parser.parse(_commandLine);
+    }
+
+    @Benchmark
+    public Result processCommandLine() {
+        return _handler.processCommandLine(_arguments);
+    }
+
+    @Benchmark
+    public CommandLineParser build() throws KomandoException {
+        return Specs.createHandler(switchCount).build();
+    }
+}
@@ -0,0 +1,68 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures argument vectors made up of many positional arguments, each of which is converted
+ * and (for the numeric ones) range-checked. The variadic benchmarks present the same number of values
+ * to a single variadic argument, either accumulating them in the Result or handing them to a consumer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PositionalBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int argumentCount;
+
+    private CommandLineParser _parser;
+    private CommandLineParser _variadicParser;
+    private String[] _arguments;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _parser = Specs.createPositionalHandler(argumentCount).build();
+        _variadicParser = Specs.createVariadicHandler().build();
+        _arguments = Specs.createPositionalArguments(argumentCount);
+    }
+
+    @Benchmark
+    public Result parse() {
+        return _parser.parse(_arguments);
+    }
+
+    @Benchmark
+    public Result parseVariadic() {
+        return _variadicParser.parse(_arguments);
+    }
+
+    @Benchmark
+    public void parseVariadicToConsumer(
+        final Blackhole blackhole
+    ) {
+        blackhole.consume(_variadicParser.parse(_arguments, blackhole::consume));
+    }
+}
@@ -0,0 +1,119 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.restrictions.DoubleRangeRestriction;
+import com.bearsnake.komando.restrictions.LongRangeRestriction;
+import com.bearsnake.komando.restrictions.RangeRestriction;
+import com.bearsnake.komando.restrictions.Restriction;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.ValueList;
+import com.bearsnake.komando.values.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generic RangeRestriction, which compares Values through compareTo(), with the primitive
+ * LongRangeRestriction and DoubleRangeRestriction - checking a list of multi-valued switch values,
+ * and (for the primitive restrictions) a raw array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeBenchmark {
+
+    @Param({ "10", "1000" })
+    public int listSize;
+
+    private Restriction _genericLongRange;
+    private LongRangeRestriction _longRange;
+    private Restriction _genericDoubleRange;
+    private DoubleRangeRestriction _doubleRange;
+    private ValueList _longValues;
+    private ValueList _doubleValues;
+    private long[] _longArray;
+    private double[] _doubleArray;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _genericLongRange = new RangeRestriction(new FixedPointValue(0L), new FixedPointValue(65535L));
+        _longRange = new LongRangeRestriction(0L, 65535L);
+        _genericDoubleRange = new RangeRestriction(new FloatingPointValue(0.0), new FloatingPointValue(1.0));
+        _doubleRange = new DoubleRangeRestriction(0.0, 1.0);
+
+        var longBuilder = ValueList.createBuilder(ValueType.FIXED_POINT);
+        var doubleBuilder = ValueList.createBuilder(ValueType.FLOATING_POINT);
+        _longArray = new long[listSize];
+        _doubleArray = new double[listSize];
+        for (var vx = 0; vx < listSize; ++vx) {
+            _longArray[vx] = (vx * 7919L) % 65536L;
+            _doubleArray[vx] = (double) _longArray[vx] / 65536.0;
+            var longText = Long.toString(_longArray[vx]);
+            longBuilder.add(longText, 0, longText.length());
+            var doubleText = Double.toString(_doubleArray[vx]);
+            doubleBuilder.add(doubleText, 0, doubleText.length());
+        }
+        _longValues = longBuilder.build();
+        _doubleValues = doubleBuilder.build();
+    }
+
+    @Benchmark
+    public boolean checkLongListGeneric() {
+        return check(_genericLongRange, _longValues);
+    }
+
+    @Benchmark
+    public boolean checkLongList() {
+        return check(_longRange, _longValues);
+    }
+
+    @Benchmark
+    public int checkLongArray() {
+        return _longRange.indexOfViolation(_longArray, 0, _longArray.length);
+    }
+
+    @Benchmark
+    public boolean checkDoubleListGeneric() {
+        return check(_genericDoubleRange, _doubleValues);
+    }
+
+    @Benchmark
+    public boolean checkDoubleList() {
+        return check(_doubleRange, _doubleValues);
+    }
+
+    @Benchmark
+    public int checkDoubleArray() {
+        return _doubleRange.indexOfViolation(_doubleArray, 0, _doubleArray.length);
+    }
+
+    private static boolean check(
+        final Restriction restriction,
+        final ValueList values
+    ) {
+        try {
+            restriction.check(values, 0, values.size());
+            return true;
+        } catch (KomandoException ex) {
+            return false;
+        }
+    }
+}
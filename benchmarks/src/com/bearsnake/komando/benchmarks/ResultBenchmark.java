@@ -0,0 +1,75 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.Result;
+import com.bearsnake.komando.Switch;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what an application does with a Result once it has one - asking whether help was requested,
+ * which switches were specified, and retrieving their values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultBenchmark {
+
+    @Param({ "10", "100" })
+    public int switchCount;
+
+    private Result _result;
+    private Switch[] _switches;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _result = Specs.createHandler(switchCount).build().parse(Specs.createArguments(switchCount));
+        _switches = _result._switchSpecifications.keySet().toArray(new Switch[0]);
+    }
+
+    @Benchmark
+    public boolean isHelpRequested() {
+        return _result.isHelpRequested() || _result.isVersionRequested();
+    }
+
+    @Benchmark
+    public int isSpecified() {
+        var count = 0;
+        for (var sw : _switches) {
+            if (_result.isSpecified(sw)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getValueLists() {
+        var count = 0;
+        for (var sw : _switches) {
+            var values = _result.getValueList(sw);
+            if (values != null) {
+                count += values.size();
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,309 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.ArgumentSwitch;
+import com.bearsnake.komando.CommandArgument;
+import com.bearsnake.komando.CommandLineHandler;
+import com.bearsnake.komando.PositionalArgument;
+import com.bearsnake.komando.SimpleSwitch;
+import com.bearsnake.komando.Switch;
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.restrictions.EnumerationRestriction;
+import com.bearsnake.komando.restrictions.RangeRestriction;
+import com.bearsnake.komando.values.CommandValue;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.ValueType;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the command line specifications and argument vectors used by the benchmarks.
+ */
+final class Specs {
+
+    static final CommandValue CREATE_COMMAND = new CommandValue("create");
+    static final CommandValue DELETE_COMMAND = new CommandValue("delete");
+    static final CommandValue LIST_COMMAND = new CommandValue("list");
+
+    private Specs() {}
+
+    /**
+     * Builds a specification with the given number of switches.
+     * Switch n is an ArgumentSwitch (cycling through the value types) when n is odd, and a SimpleSwitch otherwise.
+     * Every tenth switch has affinity with the create command, and consecutive groups of switches are tied
+     * together with dependencies, exclusions and requirement sets so that the validation phase has work to do.
+     */
+    static CommandLineHandler createHandler(
+        final int switchCount
+    ) throws KomandoException {
+        var handler = new CommandLineHandler();
+        handler.addCanonicalHelpSwitch()
+               .addCanonicalVersionSwitch()
+               .addCommandArgument(new CommandArgument.Builder().addDescription("Command to be invoked.")
+                                                                .addCommandValue(CREATE_COMMAND)
+                                                                .addCommandValue(DELETE_COMMAND)
+                                                                .addCommandValue(LIST_COMMAND)
+                                                                .build())
+               .addPositionalArgument(new PositionalArgument.Builder().setValueName("input")
+                                                                      .setValueType(ValueType.STRING)
+                                                                      .addDescription("Input file.")
+                                                                      .setIsRequired(true)
+                                                                      .build());
+
+        var switches = new Switch[switchCount];
+        for (var sx = 0; sx < switchCount; ++sx) {
+            switches[sx] = createSwitch(sx);
+            handler.addSwitch(switches[sx]);
+        }
+
+        for (var sx = 0; sx + 3 < switchCount; sx += 4) {
+            handler.addDependency(switches[sx + 2], switches[sx]);
+            handler.addMutualExclusion(switches[sx + 1], switches[sx + 3]);
+            handler.addRequirementSet(CREATE_COMMAND, Set.of(switches[sx], switches[sx + 2]));
+        }
+
+        return handler;
+    }
+
+    private static Switch createSwitch(
+        final int index
+    ) throws KomandoException {
+        if ((index & 01) == 0) {
+            var builder = new SimpleSwitch.Builder().setShortName("s" + index)
+                                                    .setLongName("simple-" + index)
+                                                    .addDescription("Simple switch number " + index);
+            if (index % 10 == 0) {
+                builder.addAffinity(CREATE_COMMAND);
+            }
+            return builder.build();
+        }
+
+        var builder = new ArgumentSwitch.Builder().setShortName("a" + index)
+                                                  .setLongName("argument-" + index)
+                                                  .addDescription("Argument switch number " + index)
+                                                  .addDescription("which takes one or more values.")
+                                                  .setIsMultiple(true)
+                                                  .setValueName("value");
+        switch ((index >> 1) % 3) {
+            case 0 -> builder.setValueType(ValueType.STRING);
+            case 1 -> builder.setValueType(ValueType.FIXED_POINT)
+                             .setRestriction(new RangeRestriction(new FixedPointValue(0L),
+                                                                  new FixedPointValue(1000000L)));
+            default -> builder.setValueType(ValueType.BOOLEAN);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds an argument vector which specifies every switch of a handler built by createHandler(),
+     * alternating between the short and long forms.
+     */
+    static String[] createArguments(
+        final int switchCount
+    ) {
+        var args = new LinkedList<String>();
+        args.add("create");
+        for (var sx = 0; sx < switchCount; ++sx) {
+            if ((sx & 01) == 0) {
+                args.add((sx & 02) == 0 ? "-s" + sx : "--simple-" + sx);
+            } else {
+                var value = switch ((sx >> 1) % 3) {
+                    case 0 -> "'text,with,commas'";
+                    case 1 -> "0x" + Integer.toHexString(sx) + "," + sx;
+                    default -> "yes,off";
+                };
+                if ((sx & 02) == 0) {
+                    args.add("-a" + sx);
+                    args.add(value);
+                } else {
+                    args.add("--argument-" + sx + "=" + value);
+                }
+            }
+        }
+        args.add("input.txt");
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * Builds the whole command line equivalent of createArguments(), single-quoting each token
+     * which contains characters that are special to the shell.
+     */
+    static String createCommandLine(
+        final int switchCount
+    ) {
+        var sb = new StringBuilder();
+        for (var arg : createArguments(switchCount)) {
+            if (!sb.isEmpty()) {
+                sb.append(' ');
+            }
+            if (arg.chars().allMatch(ch -> Character.isLetterOrDigit(ch) || "-=,.".indexOf(ch) >= 0)) {
+                sb.append(arg);
+            } else {
+                sb.append('\'').append(arg.replace("'", "'\\''")).append('\'');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds a specification with the given number of positional arguments, alternating between
+     * string and fixed-point arguments.
+     */
+    static CommandLineHandler createPositionalHandler(
+        final int argumentCount
+    ) throws KomandoException {
+        var handler = new CommandLineHandler();
+        for (var px = 0; px < argumentCount; ++px) {
+            var builder = new PositionalArgument.Builder().setValueName("arg" + px)
+                                                          .addDescription("Positional argument " + px)
+                                                          .setIsRequired(px == 0);
+            if ((px & 01) == 0) {
+                builder.setValueType(ValueType.STRING);
+            } else {
+                builder.setValueType(ValueType.FIXED_POINT)
+                       .setRestriction(new RangeRestriction(new FixedPointValue(0L), new FixedPointValue(1000000L)));
+            }
+            handler.addPositionalArgument(builder.build());
+        }
+        return handler;
+    }
+
+    /**
+     * Builds a specification with a single variadic string positional argument
+     */
+    static CommandLineHandler createVariadicHandler() throws KomandoException {
+        return new CommandLineHandler()
+            .addPositionalArgument(new PositionalArgument.Builder().setValueName("input")
+                                                                   .setValueType(ValueType.STRING)
+                                                                   .addDescription("Input files")
+                                                                   .setIsVariadic(true)
+                                                                   .build());
+    }
+
+    static String[] createPositionalArguments(
+        final int argumentCount
+    ) {
+        var args = new String[argumentCount];
+        for (var px = 0; px < argumentCount; ++px) {
+            args[px] = ((px & 01) == 0) ? "/var/spool/input/file" + px + ".dat" : Integer.toString(px);
+        }
+        return args;
+    }
+
+    /**
+     * Builds a specification with multi-valued switches of each value type, the string switch having
+     * an enumeration restriction.
+     */
+    static CommandLineHandler createMultiValueHandler() throws KomandoException {
+        var accepted = new LinkedList<String>();
+        for (var vx = 0; vx < 100; ++vx) {
+            accepted.add("id" + vx);
+        }
+
+        return new CommandLineHandler()
+            .addSwitch(new ArgumentSwitch.Builder().setShortName("i")
+                                                   .setLongName("ids")
+                                                   .addDescription("Numeric identifiers")
+                                                   .setIsMultiple(true)
+                                                   .setValueName("id")
+                                                   .setValueType(ValueType.FIXED_POINT)
+                                                   .build())
+            .addSwitch(new ArgumentSwitch.Builder().setShortName("f")
+                                                   .setLongName("factors")
+                                                   .addDescription("Scaling factors")
+                                                   .setIsMultiple(true)
+                                                   .setValueName("factor")
+                                                   .setValueType(ValueType.FLOATING_POINT)
+                                                   .build())
+            .addSwitch(new ArgumentSwitch.Builder().setShortName("n")
+                                                   .setLongName("names")
+                                                   .addDescription("Names")
+                                                   .setIsMultiple(true)
+                                                   .setValueName("name")
+                                                   .setValueType(ValueType.STRING)
+                                                   .setRestriction(new EnumerationRestriction(accepted.toArray(new String[0])))
+                                                   .build())
+            .addSwitch(new ArgumentSwitch.Builder().setShortName("b")
+                                                   .setLongName("flags")
+                                                   .addDescription("Flags")
+                                                   .setIsMultiple(true)
+                                                   .setValueName("flag")
+                                                   .setValueType(ValueType.BOOLEAN)
+                                                   .build());
+    }
+
+    /**
+     * Builds a comma-separated list of the given number of elements for the given switch
+     * of the multi-value specification.
+     */
+    static String createValueList(
+        final String switchName,
+        final int elementCount
+    ) {
+        var sb = new StringBuilder();
+        for (var ex = 0; ex < elementCount; ++ex) {
+            if (ex > 0) {
+                sb.append(',');
+            }
+            switch (switchName) {
+                case "ids" -> sb.append(100000 + ex);
+                case "factors" -> sb.append(ex).append(".25");
+                case "names" -> sb.append("id").append(ex % 100);
+                default -> sb.append((ex & 01) == 0 ? "true" : "off");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds an argument vector for a handler built by createHandler() which is full of mistakes -
+     * unknown switches, unparseable values, repeated simple switches, missing values, and a bad command.
+     */
+    static String[] createErroneousArguments(
+        final int switchCount,
+        final int errorCount
+    ) {
+        List<String> args = new LinkedList<>();
+        args.add("destroy");
+        for (var ex = 0; ex < errorCount; ++ex) {
+            var sx = ex % switchCount;
+            switch (ex % 4) {
+                case 0 -> args.add("--no-such-switch-" + ex);
+                case 1 -> args.add("-a" + (sx | 01) + "=not-a-number,'unterminated");
+                case 2 -> args.add("-s" + (sx & ~01));
+                default -> args.add("extraneous" + ex);
+            }
+        }
+        args.add("-a1");
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * Builds an argument vector for a handler built by createHandler() in which every token is a well-formed
+     * switch with a bad value - integers which do not parse or are out of range, and booleans which do not parse -
+     * so that the cost is dominated by value conversion and restriction checking.
+     */
+    static String[] createInvalidValueArguments(
+        final int switchCount,
+        final int errorCount
+    ) {
+        List<String> args = new LinkedList<>();
+        args.add("create");
+        for (var ex = 0; ex < errorCount; ++ex) {
+            // switch 3 + 6k takes fixed-point values, and switch 5 + 6k takes booleans
+            var group = 6 * ((ex / 3) % (switchCount / 6));
+            switch (ex % 3) {
+                case 0 -> args.add("-a" + (group + 3) + "=12,x" + ex);
+                case 1 -> args.add("-a" + (group + 3) + "=" + (2000000 + ex));
+                default -> args.add("-a" + (group + 5) + "=maybe");
+            }
+        }
+        args.add("input.txt");
+        return args.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,122 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineHandler;
+import com.bearsnake.komando.exceptions.KomandoException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Measures what a short-lived program pays for its first Result, which JMH cannot - each run is a fresh JVM
+ * which builds a representative specification and parses one command line, and nothing is warmed up beforehand.
+ * For each JVM configuration this reports the wall time of the whole process, and the time from entering main()
+ * to having the first Result (most of which is class loading and running the parse path in the interpreter).
+ * The configurations are the default, C1 only, a prior warm-up (which shows what warmUp() buys a long-lived service
+ * for its first real command line, not what it costs at startup), and - if an archive is given - AppCDS.
+ * Usage: StartupBenchmark [runs [archive]] - see the startup task in benchmarks/build.gradle.
+ */
+public final class StartupBenchmark {
+
+    private static final int SWITCH_COUNT = 20;
+    private static final int DEFAULT_RUNS = 10;
+
+    private StartupBenchmark() {}
+
+    /**
+     * The program which is started for each run. Prints the nanoseconds from entering main() to the first Result.
+     */
+    public static final class FirstResult {
+
+        public static void main(
+            final String[] args
+        ) throws KomandoException {
+            CommandLineHandler handler = null;
+            if ((args.length > 0) && args[0].equals("--warm-up")) {
+                handler = Specs.createHandler(SWITCH_COUNT);
+                handler.warmUp().join();
+            }
+
+            var start = System.nanoTime();
+            if (handler == null) {
+                handler = Specs.createHandler(SWITCH_COUNT);
+            }
+            handler.processCommandLine(Specs.createArguments(SWITCH_COUNT));
+            System.out.println(System.nanoTime() - start);
+        }
+    }
+
+    public static void main(
+        final String[] args
+    ) throws IOException, InterruptedException {
+        var runs = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        var archive = (args.length > 1) ? Path.of(args[1]) : null;
+
+        System.out.printf("%-24s %18s %18s%n", "Configuration", "Process ms", "First Result ms");
+        System.out.printf("%-24s %18s %18s%n", "", "(min / median)", "(min / median)");
+        measure("default", runs);
+        measure("C1 only", runs, "-XX:TieredStopAtLevel=1");
+        measure("after warm-up", runs, FirstResult.class.getName(), "--warm-up");
+        if (archive != null) {
+            if (!Files.exists(archive)) {
+                throw new IllegalArgumentException("No archive at " + archive + " - run the cdsArchive task first");
+            }
+            var archiveOption = "-XX:SharedArchiveFile=" + archive;
+            measure("AppCDS", runs, archiveOption);
+            measure("AppCDS, C1 only", runs, archiveOption, "-XX:TieredStopAtLevel=1");
+        }
+    }
+
+    /**
+     * Runs FirstResult the given number of times, and prints the figures
+     * @param options JVM options - and, if they end with the class name, the program arguments after it
+     */
+    private static void measure(
+        final String configuration,
+        final int runs,
+        final String... options
+    ) throws IOException, InterruptedException {
+        var processNanos = new long[runs];
+        var firstResultNanos = new long[runs];
+        for (var rx = 0; rx < runs; ++rx) {
+            var command = new LinkedList<String>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.addAll(List.of(options));
+            if (!command.contains(FirstResult.class.getName())) {
+                command.add(FirstResult.class.getName());
+            }
+
+            var start = System.nanoTime();
+            var process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            String output;
+            try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                output = reader.readLine();
+            }
+            if ((process.waitFor() != 0) || (output == null)) {
+                throw new IllegalStateException("Run failed: " + String.join(" ", command));
+            }
+            processNanos[rx] = System.nanoTime() - start;
+            firstResultNanos[rx] = Long.parseLong(output.trim());
+        }
+
+        System.out.printf("%-24s %18s %18s%n", configuration, summarize(processNanos), summarize(firstResultNanos));
+    }
+
+    private static String summarize(
+        final long[] nanos
+    ) {
+        Arrays.sort(nanos);
+        return String.format("%.1f / %.1f", nanos[0] / 1e6, nanos[nanos.length / 2] / 1e6);
+    }
+}
@@ -0,0 +1,74 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.CommandLineHandler;
+import com.bearsnake.komando.CommandLineParser;
+import com.bearsnake.komando.exceptions.KomandoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures usage display. displayUsage() writes to System.err, which is redirected to a discarding
+ * stream for the duration of the benchmark so that the terminal does not become the bottleneck.
+ * writeUsageToChannel writes the cached text to a discarding channel.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UsageBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int switchCount;
+
+    private CommandLineHandler _handler;
+    private CommandLineParser _parser;
+    private WritableByteChannel _channel;
+    private PrintStream _savedErr;
+
+    @Setup
+    public void setup() throws KomandoException {
+        _handler = Specs.createHandler(switchCount);
+        _parser = _handler.build();
+        _channel = Channels.newChannel(OutputStream.nullOutputStream());
+        _savedErr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setErr(_savedErr);
+    }
+
+    @Benchmark
+    public void displayUsage() {
+        _handler.displayUsage("benchmark");
+    }
+
+    @Benchmark
+    public void writeUsageToChannel() throws IOException {
+        _parser.getUsage("benchmark").writeTo(_channel);
+    }
+}
@@ -0,0 +1,144 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.benchmarks;
+
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.restrictions.EnumerationRestriction;
+import com.bearsnake.komando.restrictions.RangeRestriction;
+import com.bearsnake.komando.restrictions.Restriction;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.StringValue;
+import com.bearsnake.komando.values.StringValueTable;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the individual building blocks of the parse path - Value.parseText() for each value type,
+ * string interning through a StringValueTable, and the Restriction.check() implementations,
+ * for both accepted and rejected values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueBenchmark {
+
+    @Param({ "10", "10000" })
+    public int enumerationSize;
+
+    private Restriction _enumeration;
+    private Restriction _range;
+    private Value _acceptedString;
+    private Value _rejectedString;
+    private Value _acceptedNumber;
+    private Value _rejectedNumber;
+    private StringValueTable _stringValues;
+
+    @Setup
+    public void setup() {
+        var accepted = new String[enumerationSize];
+        for (var ax = 0; ax < enumerationSize; ++ax) {
+            accepted[ax] = "ACCT" + ax;
+        }
+        _enumeration = new EnumerationRestriction(accepted);
+        _range = new RangeRestriction(new FixedPointValue(0L), new FixedPointValue(1000L));
+        _acceptedString = new StringValue("ACCT" + (enumerationSize - 1));
+        _rejectedString = new StringValue("NOSUCH");
+        _acceptedNumber = new FixedPointValue(500L);
+        _rejectedNumber = new FixedPointValue(5000L);
+        _stringValues = new StringValueTable(1024);
+    }
+
+    @Benchmark
+    public Value parseBoolean() throws KomandoException {
+        return Value.parseText("yes", ValueType.BOOLEAN);
+    }
+
+    @Benchmark
+    public Value parseFixedPoint() throws KomandoException {
+        return Value.parseText("1234567", ValueType.FIXED_POINT);
+    }
+
+    @Benchmark
+    public Value parseHexFixedPoint() throws KomandoException {
+        return Value.parseText("0x7fff", ValueType.FIXED_POINT);
+    }
+
+    @Benchmark
+    public Value parseFloatingPoint() throws KomandoException {
+        return Value.parseText("3.14159", ValueType.FLOATING_POINT);
+    }
+
+    @Benchmark
+    public Value parseQuotedString() throws KomandoException {
+        return Value.parseText("'queue.default'", ValueType.STRING);
+    }
+
+    @Benchmark
+    public Value parseString() throws KomandoException {
+        return Value.parseText("queue.default", ValueType.STRING);
+    }
+
+    @Benchmark
+    public Value parseInternedString() throws KomandoException {
+        return _stringValues.parse("queue.default");
+    }
+
+    @Benchmark
+    public String parseInvalidFixedPoint() {
+        try {
+            return Value.parseText("12z4", ValueType.FIXED_POINT).toString();
+        } catch (KomandoException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean checkEnumerationAccepted() {
+        return check(_enumeration, _acceptedString);
+    }
+
+    @Benchmark
+    public boolean checkEnumerationRejected() {
+        return check(_enumeration, _rejectedString);
+    }
+
+    @Benchmark
+    public boolean checkRangeAccepted() {
+        return check(_range, _acceptedNumber);
+    }
+
+    @Benchmark
+    public boolean checkRangeRejected() {
+        return check(_range, _rejectedNumber);
+    }
+
+    private static boolean check(
+        final Restriction restriction,
+        final Value value
+    ) {
+        try {
+            restriction.check(value);
+            return true;
+        } catch (KomandoException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Retains the tokens read from argument files, so that a file which is named repeatedly need only be tokenized once.
+ * Entries are keyed by the real path of the file. An entry is used only while the file's modification time and
+ * size are unchanged; otherwise the file is read and tokenized again.
+ * Argument files named within an argument file are not expanded in the cached tokens, so they are
+ * checked for changes independently.
+ * The cache holds the tokens of at most a fixed number of files (DEFAULT_MAXIMUM_SIZE unless another is given),
+ * evicting those of the least recently used file - so a service which sees many distinct argument files
+ * retains only those it sees most often.
+ * A cache is thread-safe, and may be shared by any number of handlers.
+ */
+public class ArgumentFileCache {
+
+    private static class Entry {
+
+        private final FileTime _lastModifiedTime;
+        private final long _size;
+        private final String[] _tokens;
+        private final String _error;
+
+        Entry(
+            final BasicFileAttributes attributes,
+            final String[] tokens,
+            final String error
+        ) {
+            _lastModifiedTime = attributes.lastModifiedTime();
+            _size = attributes.size();
+            _tokens = tokens;
+            _error = error;
+        }
+
+        boolean isCurrent(
+            final BasicFileAttributes attributes
+        ) {
+            return _lastModifiedTime.equals(attributes.lastModifiedTime()) && (_size == attributes.size());
+        }
+    }
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final int _maximumSize;
+
+    // A least-recently-used map, which must be locked for every access (including get(), which reorders it).
+    // Files are read and tokenized without the lock.
+    private final LinkedHashMap<Path, Entry> _entries;
+
+    public ArgumentFileCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the greatest number of files whose tokens are retained
+     * @throws IllegalArgumentException if maximumSize is less than 1
+     */
+    public ArgumentFileCache(
+        final int maximumSize
+    ) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1: " + maximumSize);
+        }
+        _maximumSize = maximumSize;
+        _entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<Path, Entry> eldest
+            ) {
+                return size() > _maximumSize;
+            }
+        };
+    }
+
+    public int getMaximumSize() { return _maximumSize; }
+
+    /**
+     * Discards all the cached tokens
+     */
+    public synchronized void clear() {
+        _entries.clear();
+    }
+
+    /**
+     * Retrieves the number of files for which tokens are cached
+     */
+    public synchronized int size() {
+        return _entries.size();
+    }
+
+    /**
+     * Retrieves the tokens of an argument file, reading and tokenizing the file if they are not cached
+     * (or if the file has changed since they were cached)
+     * @param path real path of the file
+     * @throws IOException if the file cannot be read
+     */
+    TokenSource getTokens(
+        final Path path
+    ) throws IOException {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Entry entry;
+        synchronized (this) {
+            entry = _entries.get(path);
+        }
+        if ((entry == null) || !entry.isCurrent(attributes)) {
+            var lexer = new CommandLineLexer();
+            lexer.reset(ArgumentFiles.read(path));
+            var tokens = new LinkedList<String>();
+            while (lexer.hasNext()) {
+                tokens.add(lexer.next());
+            }
+
+            entry = new Entry(attributes, tokens.toArray(new String[0]), lexer.getError());
+            synchronized (this) {
+                _entries.put(path, entry);
+            }
+        }
+
+        return new TokenArray(entry._tokens, entry._error);
+    }
+}
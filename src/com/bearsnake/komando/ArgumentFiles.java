@@ -0,0 +1,93 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the content of argument files (sometimes called response files) - files containing command line tokens,
+ * named on the command line as @path.
+ * Files are memory-mapped rather than read. The content of a file which is entirely ASCII (the usual case) is
+ * tokenized directly from the mapped bytes; anything else is decoded as UTF-8 first.
+ */
+final class ArgumentFiles {
+
+    private ArgumentFiles() {}
+
+    /**
+     * Maps an argument file into memory
+     * @param path path of the file
+     * @return the content of the file
+     * @throws IOException if the file cannot be read, or is not valid UTF-8
+     */
+    static CharSequence read(
+        final Path path
+    ) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large");
+            }
+
+            var bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            for (var bx = 0; bx < bytes.limit(); ++bx) {
+                if (bytes.get(bx) < 0) {
+                    return StandardCharsets.UTF_8.newDecoder().decode(bytes);
+                }
+            }
+            return new AsciiText(bytes, 0, bytes.limit());
+        }
+    }
+
+    /**
+     * A view of a region of ASCII bytes as a sequence of characters
+     */
+    private static class AsciiText implements CharSequence {
+
+        private final ByteBuffer _bytes;
+        private final int _start;
+        private final int _end;
+
+        AsciiText(
+            final ByteBuffer bytes,
+            final int start,
+            final int end
+        ) {
+            _bytes = bytes;
+            _start = start;
+            _end = end;
+        }
+
+        @Override
+        public char charAt(
+            final int index
+        ) {
+            return (char) _bytes.get(_start + index);
+        }
+
+        @Override
+        public int length() { return _end - _start; }
+
+        @Override
+        public CharSequence subSequence(
+            final int start,
+            final int end
+        ) {
+            return new AsciiText(_bytes, _start + start, _start + end);
+        }
+
+        @Override
+        public String toString() {
+            var array = new byte[_end - _start];
+            _bytes.get(_start, array);
+            return new String(array, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -18,6 +18,10 @@ import java.util.List;
  * An ArgumentSwitch is a command line entity preceded by one or two hyphens which indicates
  * that a certain behavior should be instigated, and expects one (or optionally multiple) corresponding
  * values which further determine said behavior.
+ * If the switch has a restriction, every value is checked against it - when the command line is processed,
+ * or in lazy mode when the values are first accessed. A violation is reported as an error message, and none of
+ * the values given with that occurrence of the switch are kept. (Earlier versions displayed switch restrictions
+ * in the usage text but never checked them - only positional argument restrictions were enforced.)
  */
 public class ArgumentSwitch extends Switch {
 
@@ -47,8 +51,10 @@ public class ArgumentSwitch extends Switch {
     }
 
     public boolean isMultiple() { return _isMultiple; }
+    public Restriction getRestriction() { return _restriction; }
     public String getValueName() { return _valueName; }
     public ValueType getValueType() { return _valueType; }
+    public boolean hasRestriction() { return _restriction != null; }
 
     public void checkRestriction(
         final Value value
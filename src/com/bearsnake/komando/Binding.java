@@ -0,0 +1,60 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageType;
+
+import java.util.List;
+
+/**
+ * The outcome of parsing one command line with a parser generated from an annotated options type -
+ * the options, and the messages produced while parsing. This is the counterpart of Result.
+ * The options are produced even if there are errors; options which were not validly specified keep their defaults.
+ * @param <T> the options type
+ */
+public final class Binding<T> {
+
+    private final T _options;
+    private final List<Message> _messages;
+    private final boolean _helpRequested;
+    private final boolean _versionRequested;
+
+    public Binding(
+        final T options,
+        final List<Message> messages,
+        final boolean helpRequested,
+        final boolean versionRequested
+    ) {
+        _options = options;
+        _messages = messages;
+        _helpRequested = helpRequested;
+        _versionRequested = versionRequested;
+    }
+
+    public T getOptions() { return _options; }
+    public List<Message> getMessages() { return _messages; }
+    public boolean isHelpRequested() { return _helpRequested; }
+    public boolean isVersionRequested() { return _versionRequested; }
+
+    public boolean hasErrors() {
+        for (var m : _messages) {
+            var msgType = m.getProcessMessageType();
+            if (msgType == MessageType.FATAL || msgType == MessageType.ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasWarnings() {
+        for (var m : _messages) {
+            if (m.getProcessMessageType() == MessageType.WARNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,324 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.messages.PositionalArgumentMessage;
+import com.bearsnake.komando.messages.SwitchMessage;
+import com.bearsnake.komando.values.BooleanValue;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.ParseResult;
+import com.bearsnake.komando.values.ParseStatus;
+import com.bearsnake.komando.values.StringValue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The state of one parse by a parser generated from an annotated options type (see the annotations package).
+ * The generated parser does the dispatching, the bookkeeping of which switches were specified, and the binding
+ * of values to the options; this provides the pieces it shares with CommandLineParser - splitting value lists,
+ * converting text to primitives without creating Values, and producing the same messages.
+ * Each convert method stores the converted value where the corresponding get method will find it, and returns
+ * true - or produces a message and returns false.
+ * Not for use other than by generated code. Instances are not thread-safe.
+ */
+public final class BindingContext {
+
+    private final String[] _arguments;
+    private int _nextArgument = 0;
+    private final List<Message> _messages = new LinkedList<>();
+    private final ValueScanner _scanner = new ValueScanner();
+    private final ParseResult _parseResult = new ParseResult();
+
+    // The most recently converted value
+    private long _long;
+    private boolean _boolean;
+    private double _double;
+    private String _string;
+
+    public BindingContext(
+        final String[] arguments
+    ) {
+        _arguments = arguments;
+    }
+
+    public boolean hasMoreArguments() {
+        return _nextArgument < _arguments.length;
+    }
+
+    public String nextArgument() {
+        return _arguments[_nextArgument++];
+    }
+
+    public boolean getBoolean() { return _boolean; }
+    public double getDouble() { return _double; }
+    public int getInt() { return (int) _long; }
+    public long getLong() { return _long; }
+    public String getString() { return _string; }
+
+    /**
+     * Finds the '=' which separates a switch from its values within the same token
+     * @return index of the '=', or -1 if there is none
+     */
+    public static int indexOfEquals(
+        final String arg
+    ) {
+        return ValueScanner.indexOfUnquoted(arg, '=');
+    }
+
+    /**
+     * Splits the values of an argument switch - given in the switch token after the '=', or else in the next token -
+     * for conversion by the convert methods
+     * @param arg the switch token
+     * @param equalsIndex index of the '=' in the switch token, or -1
+     * @param switchName the switch as it appears in messages
+     * @param singular true if the switch may only have one value
+     * @param specified true if the switch has already been specified
+     * @return the number of values, or 0 if the values are missing or invalid (in which case there is a message)
+     */
+    public int scanValues(
+        final String arg,
+        final int equalsIndex,
+        final String switchName,
+        final boolean singular,
+        final boolean specified
+    ) {
+        if (equalsIndex >= 0) {
+            _scanner.scan(arg, equalsIndex + 1, arg.length());
+        } else if (hasMoreArguments()) {
+            var rawValues = nextArgument();
+            _scanner.scan(rawValues, 0, rawValues.length());
+        } else {
+            _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.NO_VALUE_SPECIFIED));
+            return 0;
+        }
+
+        if (_scanner.isUnterminated()) {
+            _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.UNTERMINATED_VALUE));
+            return 0;
+        }
+
+        if (singular && (specified || (_scanner.getCount() > 1))) {
+            _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.MULTIPLE_VALUES));
+            return 0;
+        }
+
+        return _scanner.getCount();
+    }
+
+    public boolean convertBoolean(
+        final int index,
+        final String switchName
+    ) {
+        var text = elementText(index);
+        var bit = BooleanValue.tryParseBoolean(text, elementStart(index), elementEnd(index, text));
+        if (bit < 0) {
+            return invalidValue(switchName, ParseStatus.INVALID_BOOLEAN, index);
+        }
+        _boolean = (bit == 1);
+        return true;
+    }
+
+    public boolean convertDouble(
+        final int index,
+        final String switchName
+    ) {
+        var text = elementText(index);
+        var start = elementStart(index);
+        var end = elementEnd(index, text);
+        if (!FloatingPointValue.isValid(text, start, end)) {
+            return invalidValue(switchName, ParseStatus.INVALID_FLOATING_POINT, index);
+        }
+        _double = Double.parseDouble(text.subSequence(start, end).toString());
+        return true;
+    }
+
+    public boolean convertInt(
+        final int index,
+        final String switchName
+    ) {
+        return convertLong(index, switchName)
+               && ((_long == (int) _long) || invalidValue(switchName, ParseStatus.INVALID_FIXED_POINT, index));
+    }
+
+    public boolean convertLong(
+        final int index,
+        final String switchName
+    ) {
+        var text = elementText(index);
+        _long = FixedPointValue.tryParseLong(text, elementStart(index), elementEnd(index, text), _parseResult);
+        return _parseResult.isOk() || invalidValue(switchName, ParseStatus.INVALID_FIXED_POINT, index);
+    }
+
+    public boolean convertString(
+        final int index,
+        final String switchName
+    ) {
+        _string = _scanner.getString(index);
+        return true;
+    }
+
+    /*
+     * Conversions for positional arguments, which (as in CommandLineParser) are converted from the whole token
+     */
+
+    public boolean convertPositionalBoolean(
+        final String arg,
+        final String valueName
+    ) {
+        var bit = BooleanValue.tryParseBoolean(arg, 0, arg.length());
+        if (bit < 0) {
+            return invalidPositional(valueName, ParseStatus.INVALID_BOOLEAN, arg);
+        }
+        _boolean = (bit == 1);
+        return true;
+    }
+
+    public boolean convertPositionalDouble(
+        final String arg,
+        final String valueName
+    ) {
+        if (!FloatingPointValue.isValid(arg, 0, arg.length())) {
+            return invalidPositional(valueName, ParseStatus.INVALID_FLOATING_POINT, arg);
+        }
+        _double = Double.parseDouble(arg);
+        return true;
+    }
+
+    public boolean convertPositionalInt(
+        final String arg,
+        final String valueName
+    ) {
+        return convertPositionalLong(arg, valueName)
+               && ((_long == (int) _long) || invalidPositional(valueName, ParseStatus.INVALID_FIXED_POINT, arg));
+    }
+
+    public boolean convertPositionalLong(
+        final String arg,
+        final String valueName
+    ) {
+        _long = FixedPointValue.tryParseLong(arg, 0, arg.length(), _parseResult);
+        return _parseResult.isOk() || invalidPositional(valueName, ParseStatus.INVALID_FIXED_POINT, arg);
+    }
+
+    public boolean convertPositionalString(
+        final String arg,
+        final String valueName
+    ) {
+        // Only an argument which begins with a quote needs to be parsed
+        if (arg.isEmpty() || ((arg.charAt(0) != '\'') && (arg.charAt(0) != '"'))) {
+            _string = arg;
+            return true;
+        }
+
+        var status = StringValue.tryParse(arg, _parseResult);
+        if (!status.isOk()) {
+            return invalidPositional(valueName, status, arg);
+        }
+        _string = ((StringValue) _parseResult.getValue()).getValue();
+        return true;
+    }
+
+    /*
+     * Messages
+     */
+
+    public void unrecognizedSwitch(
+        final String arg
+    ) {
+        _messages.add(new Message(MessageType.WARNING, MessageCode.UNRECOGNIZED_SWITCH, arg));
+    }
+
+    public void specifiedMoreThanOnce(
+        final String switchName
+    ) {
+        _messages.add(new SwitchMessage(MessageType.WARNING, switchName, MessageCode.SPECIFIED_MORE_THAN_ONCE));
+    }
+
+    public void extraneousArgument() {
+        _messages.add(new Message(MessageType.WARNING, MessageCode.EXTRANEOUS_ARGUMENTS));
+    }
+
+    public void requiredNotSpecified(
+        final String switchName
+    ) {
+        _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.REQUIRED_NOT_SPECIFIED));
+    }
+
+    public void requiresSwitch(
+        final String switchName,
+        final String requiredName
+    ) {
+        _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.REQUIRES_SWITCH, requiredName));
+    }
+
+    public void excludedBySwitch(
+        final String switchName,
+        final String excludedName
+    ) {
+        _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.EXCLUDED_BY_SWITCH, excludedName));
+    }
+
+    public void positionalRequiredNotSpecified(
+        final String valueName
+    ) {
+        _messages.add(new PositionalArgumentMessage(MessageType.ERROR, valueName, MessageCode.REQUIRED_NOT_SPECIFIED));
+    }
+
+    public <T> Binding<T> bind(
+        final T options,
+        final boolean helpRequested,
+        final boolean versionRequested
+    ) {
+        return new Binding<>(options, _messages, helpRequested, versionRequested);
+    }
+
+    /*
+     * The text of a scanned element is converted where it lies, unless it contains quoted sections -
+     * in which case it is converted from the element with the quotes removed
+     */
+
+    private CharSequence elementText(
+        final int index
+    ) {
+        return _scanner.isQuoted(index) ? _scanner.getString(index) : _scanner.getText();
+    }
+
+    private int elementStart(
+        final int index
+    ) {
+        return _scanner.isQuoted(index) ? 0 : _scanner.getStart(index);
+    }
+
+    private int elementEnd(
+        final int index,
+        final CharSequence text
+    ) {
+        return _scanner.isQuoted(index) ? text.length() : _scanner.getEnd(index);
+    }
+
+    private boolean invalidValue(
+        final String switchName,
+        final ParseStatus status,
+        final int index
+    ) {
+        var text = _scanner.getString(index);
+        _messages.add(new SwitchMessage(MessageType.ERROR, switchName, MessageCode.INVALID_VALUE, status, text));
+        return false;
+    }
+
+    private boolean invalidPositional(
+        final String valueName,
+        final ParseStatus status,
+        final String arg
+    ) {
+        _messages.add(new PositionalArgumentMessage(MessageType.ERROR, valueName, MessageCode.INVALID_VALUE, status, arg));
+        return false;
+    }
+}
@@ -41,15 +41,45 @@ public class CommandArgument {
     CommandValue findCommandValueForString(
         final StringValue value
     ) {
-        for (var cv : _commands) {
-            if (cv.equals(value)) {
-                return cv;
+        var cx = findCommandIndexForString(value);
+        return (cx < 0) ? null : _commands[cx];
+    }
+
+    /**
+     * As above, but returning the index of the CommandValue within this argument
+     * @param value for which we look
+     * @return index of the matching CommandValue if found, else -1
+     */
+    int findCommandIndexForString(
+        final StringValue value
+    ) {
+        for (var cx = 0; cx < _commands.length; ++cx) {
+            if (_commands[cx].equals(value)) {
+                return cx;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * As above, but for the text of the command
+     * @param text for which we look
+     * @return index of the matching CommandValue if found, else -1
+     */
+    int findCommandIndex(
+        final String text
+    ) {
+        for (var cx = 0; cx < _commands.length; ++cx) {
+            if (_commands[cx].getValue().equals(text)) {
+                return cx;
             }
         }
 
-        return null;
+        return -1;
     }
 
+    CommandValue[] getCommandValues() { return _commands; }
     public String[] getDescription() { return _description; }
 
     public static class Builder {
@@ -6,33 +6,24 @@ package com.bearsnake.komando;
 
 import com.bearsnake.komando.exceptions.CommandArgumentException;
 import com.bearsnake.komando.exceptions.KomandoException;
-import com.bearsnake.komando.exceptions.ParseException;
-import com.bearsnake.komando.messages.CommandArgumentMessage;
-import com.bearsnake.komando.messages.Message;
-import com.bearsnake.komando.messages.MessageType;
-import com.bearsnake.komando.messages.PositionalArgumentMessage;
-import com.bearsnake.komando.messages.SwitchMessage;
+import com.bearsnake.komando.exceptions.PositionalArgumentException;
 import com.bearsnake.komando.values.CommandValue;
-import com.bearsnake.komando.values.EmptyValue;
-import com.bearsnake.komando.values.StringValue;
 import com.bearsnake.komando.values.Value;
-import com.bearsnake.komando.values.ValueType;
 
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class CommandLineHandler {
 
-    private static class RequirementSet {
+    static class RequirementSet {
 
         // The command argument value is null if the requirement applies to the entire application
         public final CommandValue _command;
-        public final Set<Switch> _switches;
+        public final List<Switch> _switches;
 
         RequirementSet(
             final Set<Switch> switches
@@ -45,11 +36,11 @@ public class CommandLineHandler {
             final Set<Switch> switches
         ) {
             _command = command;
-            _switches = new TreeSet<>(switches);
+            _switches = List.copyOf(switches);
         }
     }
 
-    private static class SwitchDependency {
+    static class SwitchDependency {
 
         public final Switch _subject;
         public final Switch _dependency;
@@ -63,7 +54,7 @@ public class CommandLineHandler {
         }
     }
 
-    private static class SwitchPair {
+    static class SwitchPair {
 
         public final Switch _switch1;
         public final Switch _switch2;
@@ -77,22 +68,23 @@ public class CommandLineHandler {
         }
     }
 
-    private CommandArgument _commandArgument = null;
-    private final List<PositionalArgument> _positionalArguments = new LinkedList<>();
-    private final List<Switch> _switches = new LinkedList<>();
-    private final List<SwitchDependency> _dependencies = new LinkedList<>();
-    private final List<SwitchPair> _exclusions = new LinkedList<>();
-    private final List<RequirementSet> _requirementSets = new LinkedList<>();
-
-    private String[] _arguments;
-    private int _argIndex;
-    private final List<Message> _messages = new LinkedList<>();
-    private final Map<Switch, List<Value>> _switchSpecifications = new HashMap<>();
-    private final List<Value> _positionalSpecifications = new LinkedList<>();
-
-    // chosenCommand will be the reference to one of the CommandValue objects passed to the CommandArgument
-    // object if it was specified. It will be null if we were not given a CommandArgument.
-    private CommandValue _chosenCommand = null;
+    CommandArgument _commandArgument = null;
+    boolean _lazyConversion = false;
+    int _stringInterningCapacity = 0;
+    int _resultCacheSize = 0;
+    boolean _argumentFiles = false;
+    ArgumentFileCache _argumentFileCache = null;
+    ParseMetrics _metrics = null;
+    boolean _flightRecorderEvents = false;
+    final List<PositionalArgument> _positionalArguments = new LinkedList<>();
+    final List<Switch> _switches = new LinkedList<>();
+    final List<SwitchDependency> _dependencies = new LinkedList<>();
+    final List<SwitchPair> _exclusions = new LinkedList<>();
+    final List<RequirementSet> _requirementSets = new LinkedList<>();
+
+    // Most recently built parser - discarded whenever the configuration changes,
+    // so that processCommandLine() does not have to rebuild it for every invocation.
+    private CommandLineParser _parser = null;
 
     static final Switch HELP_SWITCH;
     static final Switch VERSION_SWITCH;
@@ -120,6 +112,7 @@ public class CommandLineHandler {
      */
     public CommandLineHandler addCanonicalHelpSwitch() {
         _switches.add(HELP_SWITCH);
+        _parser = null;
         return this;
     }
 
@@ -131,6 +124,7 @@ public class CommandLineHandler {
      */
     public CommandLineHandler addCanonicalVersionSwitch() {
         _switches.add(VERSION_SWITCH);
+        _parser = null;
         return this;
     }
 
@@ -152,6 +146,7 @@ public class CommandLineHandler {
         }
 
         _commandArgument = value;
+        _parser = null;
         return this;
     }
 
@@ -166,6 +161,7 @@ public class CommandLineHandler {
         final Switch dependency
     ) {
         _dependencies.add(new SwitchDependency(subject, dependency));
+        _parser = null;
         return this;
     }
 
@@ -182,6 +178,7 @@ public class CommandLineHandler {
         final Switch switch2
     ) {
         _exclusions.add(new SwitchPair(switch1, switch2));
+        _parser = null;
         return this;
     }
 
@@ -189,13 +186,20 @@ public class CommandLineHandler {
      * Adds a positional argument.
      * Such an argument has meaning attached to where the specification occurs in relation to other positional
      * arguments. Such arguments may be specified anywhere among switches.
+     * A variadic positional argument must be the last one added.
      * @param value The argument
      * @return this object
+     * @throws PositionalArgumentException if a variadic positional argument has already been added
      */
     public CommandLineHandler addPositionalArgument(
         final PositionalArgument value
     ) {
+        if (!_positionalArguments.isEmpty() && _positionalArguments.get(_positionalArguments.size() - 1).isVariadic()) {
+            throw new PositionalArgumentException();
+        }
+
         _positionalArguments.add(value);
+        _parser = null;
         return this;
     }
 
@@ -215,6 +219,7 @@ public class CommandLineHandler {
         final Set<Switch> set
     ) {
         _requirementSets.add(new RequirementSet(set));
+        _parser = null;
         return this;
     }
 
@@ -226,6 +231,7 @@ public class CommandLineHandler {
         final Set<Switch> set
     ) {
         _requirementSets.add(new RequirementSet(command, set));
+        _parser = null;
         return this;
     }
 
@@ -238,91 +244,182 @@ public class CommandLineHandler {
         final Switch value
     ) {
         _switches.add(value);
+        _parser = null;
         return this;
     }
 
     /**
-     * Displays usage information based on the configured arguments and switches.
-     * @param programName name of the program
+     * Enables or disables the expansion of argument files.
+     * When enabled, any token of the form @path which appears where a switch, command, or positional argument
+     * could appear (that is, not as the value of a switch, nor after --) is replaced by the tokens contained in
+     * the named file. The content of the file is split into tokens in the same way as a whole command line,
+     * with line breaks treated as whitespace. Argument files may name further argument files,
+     * but not (directly or indirectly) themselves.
+     * @param value true to expand argument files, false (the default) to treat such tokens like any others
+     * @return this object
      */
-    public void displayUsage(
-        final String programName
+    public CommandLineHandler setArgumentFiles(
+        final boolean value
     ) {
-        System.err.println("Usage:");
+        _argumentFiles = value;
+        _parser = null;
+        return this;
+    }
 
-        var sb = new StringBuilder();
-        sb.append("  ").append(programName);
-        if (!_switches.isEmpty()) {
-            sb.append(" {switches}");
-        }
+    /**
+     * Specifies a cache in which the tokens of argument files are retained, so that a large argument file
+     * which is named repeatedly is only tokenized once (for as long as it remains unchanged).
+     * This has no effect unless argument files are enabled by setArgumentFiles().
+     * @param cache the cache, or null (the default) to read argument files each time they are named
+     * @return this object
+     */
+    public CommandLineHandler setArgumentFileCache(
+        final ArgumentFileCache cache
+    ) {
+        _argumentFileCache = cache;
+        _parser = null;
+        return this;
+    }
 
-        if (_commandArgument != null) {
-            sb.append(" command");
-        }
+    /**
+     * Enables or disables the JFR events of the parsers built from this handler (see the events package).
+     * When enabled, parsing emits events which a Flight Recorder recording can capture - they cost next to nothing
+     * while no recording is running. They are disabled by default because on JDK 17 the first event class to be
+     * loaded starts up the Java side of JFR, whether or not anything is recording, which adds several hundred
+     * milliseconds to a short-lived program's first parse. When disabled, no event class is loaded.
+     * @param value true to emit events, false (the default) not to
+     * @return this object
+     */
+    public CommandLineHandler setFlightRecorderEvents(
+        final boolean value
+    ) {
+        _flightRecorderEvents = value;
+        _parser = null;
+        return this;
+    }
 
-        for (var posArg : _positionalArguments) {
-            sb.append(" ")
-              .append(posArg.isRequired() ? "" : "[")
-              .append("{")
-              .append(posArg.getValueName())
-              .append("}").append(posArg.isRequired() ? "" : "]");
+    /**
+     * Specifies where statistics about the processing of command lines are to be collected.
+     * The messages produced by each parse, and the switches and commands it specified, are then counted,
+     * and a sample of the parses are timed phase by phase.
+     * The same metrics may be given to any number of handlers.
+     * @param metrics the metrics, or null (the default) to collect no statistics
+     * @return this object
+     */
+    public CommandLineHandler setMetrics(
+        final ParseMetrics metrics
+    ) {
+        _metrics = metrics;
+        _parser = null;
+        return this;
+    }
+
+    /**
+     * Enables or disables the interning of string values.
+     * When enabled, each parser built from this handler keeps a bounded table of StringValue instances,
+     * and the string values of switches and positional arguments which recur from one command line to
+     * the next are represented by a single shared instance. This reduces garbage (and the size of retained
+     * Results) when many command lines name the same hosts, queues, and so on.
+     * Values which do not recur gain nothing from this, but cost a little extra to process.
+     * @param capacity number of values which may be retained, or 0 (the default) to disable interning.
+     *                 This is rounded up to a power of two, and capacities above StringValueTable.MAXIMUM_CAPACITY
+     *                 (2^30) are reduced to it.
+     * @return this object
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public CommandLineHandler setStringInterning(
+        final int capacity
+    ) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
         }
-        System.err.println(sb);
-
-        if (!_switches.isEmpty()) {
-            System.err.println();
-            System.err.println("switches:");
-            for (var sw : _switches) {
-                sb = new StringBuilder();
-                sb.append("  ").append(sw.toString());
-
-                if (sw instanceof ArgumentSwitch as) {
-                    sb.append(" {").append(as.getValueName()).append("}");
-                    if (as.isMultiple()) {
-                        sb.append(",...");
-                    }
-
-                    sb.append("  ");
-                    sb.append(as.isRequired() ? "(required)" : "(optional)");
-                }
-                System.err.println(sb);
-
-                if (!sw._affinity.isEmpty()) {
-                    sb.setLength(0);
-                    sb.append("    Only applies to command(s): ");
-                    var commandStrings = sw._affinity.stream()
-                                                     .map(StringValue::getValue)
-                                                     .collect(Collectors.toCollection(LinkedList::new));
-                    sb.append(String.join(", ", commandStrings));
-                    System.err.println(sb);
-                }
-
-                for (var desc : sw._description) {
-                    System.err.printf("    %s\n", desc);
-                }
-            }
+        _stringInterningCapacity = capacity;
+        _parser = null;
+        return this;
+    }
+
+    /**
+     * Enables or disables the caching of Results.
+     * When enabled, each parser built from this handler retains the Results of the command lines it has parsed
+     * most recently, and a command line which is identical to one of those (token for token, or for a whole
+     * command line, character for character) produces the retained Result without being parsed again.
+     * A Result is only retained when its command line recurs - the first occurrence is parsed as usual.
+     * Cached Results are immutable, and the same instance is returned for each later occurrence of the command line.
+     * The cache is not used when the values of the variadic positional argument are delivered to a consumer,
+     * nor at all if argument files are enabled (since the content of a file may change) or if lazy conversion is
+     * enabled (since accessing the values of a Result may add messages to it). Hit and miss counts are
+     * available from build().getResultCache().
+     * @param maximumSize number of Results which may be retained, or 0 (the default) to disable caching
+     * @return this object
+     * @throws IllegalArgumentException if maximumSize is negative
+     */
+    public CommandLineHandler setResultCache(
+        final int maximumSize
+    ) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
         }
+        _resultCacheSize = maximumSize;
+        _parser = null;
+        return this;
+    }
 
-        if (_commandArgument != null) {
-            System.err.println();
-            System.err.printf("command %s\n", _commandArgument.getChoicesString());
+    /**
+     * Selects lazy value conversion.
+     * In lazy mode, the values of argument switches are not converted or restriction-checked while the command
+     * line is processed. Rather, the Result retains their raw text, and each switch's values are converted and
+     * checked the first time they are accessed. Errors are then reported at that time, by adding an error message
+     * to the Result and throwing InvalidValueException - or they can be surfaced all at once by invoking
+     * Result.validateAll(). This avoids the cost of converting values which the application never looks at.
+     * Problems with the structure of the command line (unknown switches, missing values, and so on) are still
+     * reported during processing.
+     * @param value true for lazy conversion, false (the default) for eager conversion
+     * @return this object
+     */
+    public CommandLineHandler setLazyConversion(
+        final boolean value
+    ) {
+        _lazyConversion = value;
+        _parser = null;
+        return this;
+    }
 
-            for (var desc : _commandArgument.getDescription()) {
-                System.err.printf("  %s\n", desc);
-            }
-        }
+    /**
+     * Displays usage information based on the configured arguments and switches.
+     * The text is rendered once and retained by the CommandLineParser, and is written to System.err in a single
+     * print, in the stream's own encoding. Use build().getUsage() to write it elsewhere.
+     * @param programName name of the program
+     */
+    public void displayUsage(
+        final String programName
+    ) {
+        build().getUsage(programName).writeTo(System.err);
+    }
 
-        for (var posArg : _positionalArguments) {
-            System.err.println();
-            System.err.printf("%s (%s)%s\n",
-                              posArg.getValueName(),
-                              posArg.getValueType().name().toLowerCase(),
-                              posArg.hasRestriction() ? posArg.getRestriction().toString() : "");
+    /**
+     * Displays usage information for one command, leaving out the switches which do not apply to it.
+     * @param programName name of the program
+     * @param command one of the values of the command argument
+     * @throws CommandArgumentException if the command is not one of the values of the command argument
+     */
+    public void displayUsage(
+        final String programName,
+        final CommandValue command
+    ) {
+        build().getUsage(programName, command).writeTo(System.err);
+    }
 
-            for (var desc : posArg.getDescription()) {
-                System.err.printf("  %s\n", desc);
-            }
+    /**
+     * Freezes the current configuration into an immutable CommandLineParser.
+     * The parser keeps all per-invocation state in a separate context, so a single instance may be shared
+     * freely among threads. Subsequent changes to this handler do not affect parsers which were already built.
+     * @return CommandLineParser reflecting the current configuration
+     */
+    public CommandLineParser build() {
+        if (_parser == null) {
+            _parser = new CommandLineParser(this);
         }
+        return _parser;
     }
 
     /**
@@ -333,268 +430,90 @@ public class CommandLineHandler {
     public Result processCommandLine(
         final String[] args
     ) {
-        _arguments = args;
-        _argIndex = 0;
-        _messages.clear();
-        _positionalSpecifications.clear();
-        _switchSpecifications.clear();
-
-        var checkSwitch = true;
-        while (_argIndex < _arguments.length) {
-            var arg = _arguments[_argIndex++];
-
-            if (checkSwitch && arg.startsWith("-")) {
-                if (arg.equals("--")) {
-                    checkSwitch = false;
-                } else {
-                    processSwitch(arg);
-                }
-            } else if ((_commandArgument != null) && (_chosenCommand == null)) {
-                processCommandArgument(arg);
-            } else {
-                processPositionalArgument(arg);
-            }
-        }
-
-        // Special checking for canonical help/version switches
-        var help = _switchSpecifications.containsKey(HELP_SWITCH);
-        var version = _switchSpecifications.containsKey(VERSION_SWITCH);
-
-        // Do all the verification checking for the various switch and argument combinations,
-        // but *only* if we are not doing help or version - in those cases, we ignore all the rest.
-        if (!help && !version) {
-            // Check the command - if we have a command argument
-            if ((_commandArgument != null) && (_chosenCommand == null)) {
-                _messages.add(new CommandArgumentMessage(MessageType.ERROR, "Required but not specified"));
-            }
-
-            // Ensure that all required switches were specified. This does not apply if there was a command argument,
-            // and the otherwise-required switch does not have affinity with the given command.
-            for (var sw : _switches) {
-                if (sw.isRequired() && switchIsApplicable(sw) && !_switchSpecifications.containsKey(sw)) {
-                    _messages.add(new SwitchMessage(MessageType.ERROR, sw, "Required but not specified"));
-                }
-            }
-
-            for (var reqSet : _requirementSets) {
-                if ((reqSet._command == null) || reqSet._command.equals(_chosenCommand)) {
-                    var switches = reqSet._switches;
-                    var found = false;
-                    for (var sw : switches) {
-                        if (_switchSpecifications.containsKey(sw)) {
-                            found = true;
-                            break;
-                        }
-                    }
-
-                    if (!found) {
-                        var msg = "At least one of the following switches must be specified:";
-                        var strs = switches.stream()
-                                           .map(Switch::toString)
-                                           .collect(Collectors.toCollection(LinkedList::new));
-                        msg += String.join(", ", strs);
-                        _messages.add(new Message(MessageType.ERROR, msg));
-                    }
-                }
-            }
-
-            if (_chosenCommand != null) {
-                for (var sw : _switchSpecifications.keySet()) {
-                    var msg = "Switch does not apply to '" + _chosenCommand.getValue() + "' command";
-                    if (!switchIsApplicable(sw)) {
-                        _messages.add(new SwitchMessage(MessageType.WARNING, sw, msg));
-                    }
-                }
-            }
-
-            // Check for switch dependencies.
-            for (var dep : _dependencies) {
-                if (switchIsApplicable(dep._subject) && switchIsApplicable(dep._dependency)) {
-                    if (_switchSpecifications.containsKey(dep._subject) && !_switchSpecifications.containsKey(dep._dependency)) {
-                        var msg = String.format("Requires unspecified switch %s", dep._dependency);
-                        _messages.add(new SwitchMessage(MessageType.ERROR, dep._subject, msg));
-                    }
-                }
-            }
-
-            // Check for switch exclusions
-            for (var ex : _exclusions) {
-                if (switchIsApplicable(ex._switch1) && switchIsApplicable(ex._switch2)) {
-                    if (_switchSpecifications.containsKey(ex._switch1) && _switchSpecifications.containsKey(ex._switch2)) {
-                        var msg = String.format("May not be specified with switch %s", ex._switch2.toString());
-                        _messages.add(new SwitchMessage(MessageType.ERROR, ex._switch1, msg));
-                    }
-                }
-            }
-
-            // Check for required positional arguments
-            int px = 0;
-            for (var posArg : _positionalArguments) {
-                if (posArg.isRequired() && (px >= _positionalSpecifications.size())) {
-                    _messages.add(new PositionalArgumentMessage(MessageType.ERROR, posArg, "Required but not specified"));
-                }
-                px++;
-            }
-        }
-
-        return new Result(_messages, _chosenCommand, _switchSpecifications, _positionalSpecifications);
+        return build().parse(args);
     }
 
-    private void processArgumentSwitch(
-        final String[] argTokens,
-        final ArgumentSwitch argSwitch
+    /**
+     * Processes the command line strings in the context of the previously-provided configuration,
+     * delivering the values of the variadic positional argument to a consumer as they are found.
+     * @param args Command line tokens
+     * @param variadicConsumer Consumer of the variadic positional argument values
+     * @return Result object which is built according to the given command line text
+     */
+    public Result processCommandLine(
+        final String[] args,
+        final Consumer<? super Value> variadicConsumer
     ) {
-        String rawValues;
-        if (argTokens.length == 2) {
-            // the value(s) is/are given within the argument token
-            rawValues = argTokens[1];
-        } else {
-            // the value(s) is/are given in the following argument token
-            if (_argIndex == _arguments.length) {
-                _messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, "No value specified for switch"));
-                return;
-            }
-            rawValues = _arguments[_argIndex++];
-        }
-
-        var subTokens = split(rawValues, ',');
-        if (!argSwitch.isMultiple()) {
-            if (_switchSpecifications.containsKey(argSwitch) || (subTokens.length > 1)) {
-                _messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, "Multiple values specified for singly-valued switch"));
-                return;
-            }
-        }
-
-        List<Value> values = new LinkedList<>();
-        for (var token : subTokens) {
-            try {
-                values.add(Value.parseText(token, argSwitch.getValueType()));
-            } catch (ParseException ex) {
-                _messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, ex.getMessage()));
-                return;
-            }
-        }
-
-        if (!_switchSpecifications.containsKey(argSwitch)) {
-            _switchSpecifications.put(argSwitch, values);
-        } else {
-            _switchSpecifications.get(argSwitch).addAll(values);
-        }
+        return build().parse(args, variadicConsumer);
     }
 
-    private void processCommandArgument(
-        final String argText
+    /**
+     * Processes a whole command line in the context of the previously-provided configuration.
+     * The text is split into tokens according to the usual shell rules for whitespace, quotes, and backslash escapes.
+     * @param commandLine Command line text
+     * @return Result object which is built according to the given command line text
+     */
+    public Result processCommandLine(
+        final CharSequence commandLine
     ) {
-        try {
-            var value = (StringValue) Value.parseText(argText, ValueType.STRING);
-            _chosenCommand = _commandArgument.findCommandValueForString(value);
-            if (_chosenCommand == null) {
-                var msg = "'" + value + "' is not a valid command";
-                _messages.add(new CommandArgumentMessage(MessageType.ERROR, msg));
-            }
-        } catch (KomandoException ex) {
-            _messages.add(new CommandArgumentMessage(MessageType.ERROR, ex.getMessage()));
-        }
+        return build().parse(commandLine);
     }
 
-    private void processPositionalArgument(
-        final String argText
+    /**
+     * Processes a whole command line in the context of the previously-provided configuration,
+     * delivering the values of the variadic positional argument to a consumer as they are found.
+     * @param commandLine Command line text
+     * @param variadicConsumer Consumer of the variadic positional argument values
+     * @return Result object which is built according to the given command line text
+     */
+    public Result processCommandLine(
+        final CharSequence commandLine,
+        final Consumer<? super Value> variadicConsumer
     ) {
-        if (_positionalSpecifications.size() == _positionalArguments.size()) {
-            _messages.add(new Message(MessageType.WARNING, "Extraneous arguments are ignored"));
-            return;
-        }
-
-        var arg = _positionalArguments.get(_positionalSpecifications.size());
-        try {
-            var value = Value.parseText(argText, arg.getValueType());
-            arg.checkRestriction(value);
-            _positionalSpecifications.add(value);
-        } catch (KomandoException ex) {
-            _messages.add(new PositionalArgumentMessage(MessageType.ERROR, arg, ex.getMessage()));
-            _positionalSpecifications.add(new EmptyValue());
-        }
+        return build().parse(commandLine, variadicConsumer);
     }
 
-    private void processSwitch(
-        final String arg
+    /**
+     * Processes a batch of command lines in parallel, in the context of the previously-provided configuration.
+     * @param commandLines Command line tokens for each command line
+     * @return Result objects, in the same order as the command lines
+     */
+    public List<Result> processCommandLines(
+        final List<String[]> commandLines
     ) {
-        var tokens = split(arg, '=');
-        Switch swch = null;
-        if (tokens[0].startsWith("--")) {
-            var chop = tokens[0].substring(2);
-            for (var sw : _switches) {
-                if (chop.equals(sw._longName)) {
-                    swch = sw;
-                    break;
-                }
-            }
-        } else {
-            var chop = tokens[0].substring(1);
-            for (var sw : _switches) {
-                if (chop.equals(sw._shortName)) {
-                    swch = sw;
-                    break;
-                }
-            }
-        }
-
-        if (swch == null) {
-            _messages.add(new Message(MessageType.WARNING, "Unrecognized Switch:" + arg));
-        } else if (swch instanceof ArgumentSwitch asw) {
-            processArgumentSwitch(tokens, asw);
-        } else {
-            if (_switchSpecifications.containsKey(swch)) {
-                _messages.add(new SwitchMessage(MessageType.WARNING, swch, "Specified more than once"));
-            } else {
-                _switchSpecifications.put(swch, null);
-            }
-        }
+        return build().parseAll(commandLines);
     }
 
-    private static String[] split(
-        final String input,
-        final Character delimiter
+    /**
+     * Processes a stream of command lines in parallel, in the context of the previously-provided configuration.
+     * @param commandLines Command line tokens for each command line
+     * @return Result objects, in the encounter order of the command lines
+     */
+    public List<Result> processCommandLines(
+        final Stream<String[]> commandLines
     ) {
-        // This special version of String.split() will not check for delimiters inside double-quoted string segments.
-        var temp = new LinkedList<String>();
-        char quoteChar = 0;
-        var sb = new StringBuilder();
-        for (var ix = 0; ix < input.length(); ++ix) {
-            var ch = input.charAt(ix);
-            if (quoteChar != 0) {
-                // we are inside a quoted section
-                if (ch == quoteChar) {
-                    // end of quoted section
-                    quoteChar = 0;
-                } else {
-                    sb.append(ch);
-                }
-            } else {
-                // we are *not* inside a quoted section
-                if ((ch == '\'') || (ch == '"')) {
-                    quoteChar = ch;
-                } else {
-                    if (ch == delimiter) {
-                        temp.add(sb.toString());
-                        sb.setLength(0);
-                    } else {
-                        sb.append(ch);
-                    }
-                }
-            }
-        }
+        return build().parseAll(commandLines);
+    }
 
-        // TODO someday we should complain if we are here and still in a quoted section
-        temp.add(sb.toString());
-        return temp.toArray(new String[0]);
+    /**
+     * Warms up the parser for the current configuration on a background thread, with enough synthetic command lines
+     * for the JIT to compile the parse path - so that a long-lived service does not process its first real command
+     * lines in the interpreter. See CommandLineParser.warmUp(). For a short-lived program, which is mostly startup,
+     * an AppCDS archive does more good - see the startup notes in benchmarks/build.gradle.
+     * @return a future which completes when the warm-up is done
+     */
+    public CompletableFuture<Void> warmUp() {
+        return build().warmUp(WarmUp.DEFAULT_ITERATIONS);
     }
 
-    private boolean switchIsApplicable(
-        final Switch sw
+    /**
+     * Warms up the parser for the current configuration on a background thread. See CommandLineParser.warmUp().
+     * @param iterations number of synthetic command lines to parse
+     * @return a future which completes when the warm-up is done
+     */
+    public CompletableFuture<Void> warmUp(
+        final int iterations
     ) {
-        // This switch does *not* apply if there is a command argument,
-        // and the switch has affinity with any commands, but not the chosen command.
-        return !((_commandArgument != null) && sw.hasAffinity() && !sw.hasAffinityWith(_chosenCommand));
+        return build().warmUp(iterations);
     }
 }
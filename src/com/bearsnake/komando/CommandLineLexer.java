@@ -0,0 +1,152 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+/**
+ * Splits a whole command line into tokens, following the usual shell rules.
+ * Tokens are separated by whitespace. Within a single-quoted section every character is taken literally.
+ * Within a double-quoted section a backslash escapes a following double quote, backslash, dollar sign, or backquote,
+ * and is otherwise taken literally. Outside of quoted sections a backslash escapes any following character.
+ * A backslash followed by a newline is a line continuation, and is discarded entirely.
+ * Quote characters and escaping backslashes are not part of the resulting tokens.
+ * Tokens are produced one at a time as the parser asks for them; those which contain no quotes or escapes
+ * are taken directly from the text without any intermediate copying.
+ * An instance may be reused for successive command lines, but it is not thread-safe.
+ */
+class CommandLineLexer implements TokenSource {
+
+    // Classifies the ASCII characters, so that the common case does not need to go through Character.isWhitespace()
+    private static final byte ORDINARY = 0;
+    private static final byte SPECIAL = 1;
+    private static final byte WHITESPACE = 2;
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (var ch = 0; ch < ASCII_CLASSES.length; ++ch) {
+            if (Character.isWhitespace(ch)) {
+                ASCII_CLASSES[ch] = WHITESPACE;
+            } else if ((ch == '\'') || (ch == '"') || (ch == '\\')) {
+                ASCII_CLASSES[ch] = SPECIAL;
+            }
+        }
+    }
+
+    private CharSequence _text;
+    private int _index;
+    private String _error;
+    private final StringBuilder _buffer = new StringBuilder();
+
+    /**
+     * Prepares to tokenize the given text. Any previous state is discarded.
+     */
+    void reset(
+        final CharSequence text
+    ) {
+        _text = text;
+        _index = 0;
+        _error = null;
+    }
+
+    @Override
+    public String getError() { return _error; }
+
+    /**
+     * Skips any whitespace and line continuations, and indicates whether there is another token
+     */
+    @Override
+    public boolean hasNext() {
+        var end = _text.length();
+        while (_index < end) {
+            var ch = _text.charAt(_index);
+            if (isWhitespace(ch)) {
+                _index++;
+            } else if ((ch == '\\') && (_index + 1 < end) && (_text.charAt(_index + 1) == '\n')) {
+                _index += 2;
+            } else {
+                break;
+            }
+        }
+        return _index < end;
+    }
+
+    @Override
+    public String next() {
+        var end = _text.length();
+        var start = _index;
+        var ix = start;
+        while ((ix < end) && !isSpecial(_text.charAt(ix))) {
+            ix++;
+        }
+
+        if ((ix == end) || isWhitespace(_text.charAt(ix))) {
+            // nothing to be removed from this token
+            _index = ix;
+            return _text.subSequence(start, ix).toString();
+        }
+
+        _buffer.setLength(0);
+        _buffer.append(_text, start, ix);
+        char quoteChar = 0;
+        while (ix < end) {
+            var ch = _text.charAt(ix);
+            if (quoteChar == '\'') {
+                if (ch == '\'') {
+                    quoteChar = 0;
+                } else {
+                    _buffer.append(ch);
+                }
+            } else if (quoteChar == '"') {
+                if (ch == '"') {
+                    quoteChar = 0;
+                } else if ((ch == '\\') && (ix + 1 < end) && isEscapableWithinDoubleQuotes(_text.charAt(ix + 1))) {
+                    ix++;
+                    if (_text.charAt(ix) != '\n') {
+                        _buffer.append(_text.charAt(ix));
+                    }
+                } else {
+                    _buffer.append(ch);
+                }
+            } else if (isWhitespace(ch)) {
+                break;
+            } else if ((ch == '\'') || (ch == '"')) {
+                quoteChar = ch;
+            } else if ((ch == '\\') && (ix + 1 < end)) {
+                ix++;
+                if (_text.charAt(ix) != '\n') {
+                    _buffer.append(_text.charAt(ix));
+                }
+            } else {
+                // includes a backslash at the very end of the text, which we take literally
+                _buffer.append(ch);
+            }
+            ix++;
+        }
+
+        if ((quoteChar != 0) && (_error == null)) {
+            _error = "Missing closing quote";
+        }
+
+        _index = ix;
+        return _buffer.toString();
+    }
+
+    private static boolean isSpecial(
+        final char ch
+    ) {
+        return (ch < ASCII_CLASSES.length) ? (ASCII_CLASSES[ch] != ORDINARY) : Character.isWhitespace(ch);
+    }
+
+    private static boolean isWhitespace(
+        final char ch
+    ) {
+        return (ch < ASCII_CLASSES.length) ? (ASCII_CLASSES[ch] == WHITESPACE) : Character.isWhitespace(ch);
+    }
+
+    private static boolean isEscapableWithinDoubleQuotes(
+        final char ch
+    ) {
+        return (ch == '"') || (ch == '\\') || (ch == '$') || (ch == '`') || (ch == '\n');
+    }
+}
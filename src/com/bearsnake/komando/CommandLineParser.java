@@ -0,0 +1,738 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.exceptions.CommandArgumentException;
+import com.bearsnake.komando.messages.CommandArgumentMessage;
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.messages.PositionalArgumentMessage;
+import com.bearsnake.komando.messages.SwitchMessage;
+import com.bearsnake.komando.values.CommandValue;
+import com.bearsnake.komando.values.EmptyValue;
+import com.bearsnake.komando.values.StringValue;
+import com.bearsnake.komando.values.StringValueList;
+import com.bearsnake.komando.values.StringValueTable;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+import com.bearsnake.komando.values.ValueType;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, compiled form of the configuration held by a CommandLineHandler.
+ * Instances are produced by CommandLineHandler.build(). All per-invocation state lives in a ParseContext
+ * which is owned by the calling thread, so a single parser may be shared among any number of threads
+ * without locking.
+ */
+public class CommandLineParser {
+
+    // Batches are divided into roughly this many chunks per worker thread, so that the work balances out
+    // when some command lines take longer than others - but chunks are never smaller than the minimum.
+    private static final int BATCH_CHUNKS_PER_WORKER = 4;
+    private static final int BATCH_MINIMUM_CHUNK_SIZE = 16;
+
+    private static final AtomicLong NEXT_SPEC_ID = new AtomicLong(1);
+
+    private final long _specId = NEXT_SPEC_ID.getAndIncrement();
+    private final boolean _events;
+    private final CommandArgument _commandArgument;
+    private final boolean _lazyConversion;
+    private final StringValueTable _stringValues;
+    private final ResultCache _resultCache;
+    private final boolean _argumentFiles;
+    private final ArgumentFileCache _argumentFileCache;
+    private final List<PositionalArgument> _positionalArguments;
+    private final PositionalArgument _variadicArgument;
+
+    // Every switch we know about, indexed by ordinal. The registered switches come first, in the order in which
+    // they were registered, followed by any switches which are only referenced by dependencies, exclusions,
+    // or requirement sets.
+    private final Switch[] _switchesByOrdinal;
+    private final SwitchOrdinals _switchOrdinals;
+    private final int _helpOrdinal;
+    private final int _versionOrdinal;
+
+    private final SwitchIndex _longNameIndex;
+    private final SwitchIndex _shortNameIndex;
+    private final SwitchConstraints _constraints;
+
+    // The switches as they were registered, for usage text, and the usage text which has been rendered so far -
+    // keyed by program name, and indexed by command slot (0 for the full text, n + 1 for the text of command n)
+    private final List<Switch> _registeredSwitches;
+    private final ConcurrentHashMap<String, Usage[]> _usages = new ConcurrentHashMap<>();
+
+    // Where parsing is recorded, or null if it is not. The usage counters are indexed by switch ordinal
+    // (only the registered switches have counters, since only they can be specified) and by command index.
+    private final ParseMetrics _metrics;
+    private final LongAdder[] _switchUsage;
+    private final LongAdder[] _commandUsage;
+
+    CommandLineParser(
+        final CommandLineHandler handler
+    ) {
+        _events = handler._flightRecorderEvents;
+        _commandArgument = handler._commandArgument;
+        _lazyConversion = handler._lazyConversion;
+        _stringValues = (handler._stringInterningCapacity > 0) ? new StringValueTable(handler._stringInterningCapacity) : null;
+        _argumentFiles = handler._argumentFiles;
+        _argumentFileCache = handler._argumentFileCache;
+        _resultCache = ((handler._resultCacheSize > 0) && !_argumentFiles && !_lazyConversion)
+            ? new ResultCache(handler._resultCacheSize)
+            : null;
+        _positionalArguments = List.copyOf(handler._positionalArguments);
+        var lastPositional = _positionalArguments.isEmpty() ? null : _positionalArguments.get(_positionalArguments.size() - 1);
+        _variadicArgument = ((lastPositional != null) && lastPositional.isVariadic()) ? lastPositional : null;
+
+        var ordinals = new HashMap<Switch, Integer>();
+        var ordered = new LinkedList<Switch>();
+        handler._switches.forEach(sw -> assignOrdinal(sw, ordinals, ordered));
+        var registeredCount = ordered.size();
+        _registeredSwitches = List.copyOf(handler._switches);
+
+        for (var dep : handler._dependencies) {
+            assignOrdinal(dep._subject, ordinals, ordered);
+            assignOrdinal(dep._dependency, ordinals, ordered);
+        }
+        for (var ex : handler._exclusions) {
+            assignOrdinal(ex._switch1, ordinals, ordered);
+            assignOrdinal(ex._switch2, ordinals, ordered);
+        }
+        for (var reqSet : handler._requirementSets) {
+            reqSet._switches.forEach(sw -> assignOrdinal(sw, ordinals, ordered));
+        }
+
+        _switchesByOrdinal = ordered.toArray(new Switch[0]);
+        _switchOrdinals = new SwitchOrdinals(_switchesByOrdinal);
+        _helpOrdinal = _switchOrdinals.getHelpOrdinal();
+        _versionOrdinal = _switchOrdinals.getVersionOrdinal();
+
+        _longNameIndex = new SwitchIndex(_switchesByOrdinal, registeredCount, sw -> sw._longName);
+        _shortNameIndex = new SwitchIndex(_switchesByOrdinal, registeredCount, sw -> sw._shortName);
+        _constraints = new SwitchConstraints(_switchesByOrdinal,
+                                             ordinals,
+                                             registeredCount,
+                                             _commandArgument,
+                                             List.copyOf(handler._dependencies),
+                                             List.copyOf(handler._exclusions),
+                                             List.copyOf(handler._requirementSets));
+
+        _metrics = handler._metrics;
+        if (_metrics != null) {
+            _switchUsage = new LongAdder[registeredCount];
+            for (var ordinal = 0; ordinal < registeredCount; ++ordinal) {
+                _switchUsage[ordinal] = _metrics.getSwitchCounter(_switchesByOrdinal[ordinal]);
+            }
+            var commands = (_commandArgument == null) ? new CommandValue[0] : _commandArgument.getCommandValues();
+            _commandUsage = new LongAdder[commands.length];
+            for (var cx = 0; cx < commands.length; ++cx) {
+                _commandUsage[cx] = _metrics.getCommandCounter(commands[cx]);
+            }
+        } else {
+            _switchUsage = null;
+            _commandUsage = null;
+        }
+    }
+
+    /**
+     * Retrieves the number which identifies this parser in the JFR events it emits (if they are enabled -
+     * see CommandLineHandler.setFlightRecorderEvents()). Each parser built in a JVM has a different number.
+     */
+    public long getSpecId() {
+        return _specId;
+    }
+
+    /**
+     * Retrieves the cache of Results, for its statistics
+     * @return the cache, or null if Results are not cached
+     */
+    public ResultCache getResultCache() {
+        return _resultCache;
+    }
+
+    /**
+     * Retrieves the usage text for this configuration.
+     * The text is rendered the first time it is requested for a given program name, and retained thereafter.
+     * This method is thread-safe.
+     * @param programName name of the program, for the synopsis
+     * @return the usage text
+     */
+    public Usage getUsage(
+        final String programName
+    ) {
+        return getUsage(programName, null);
+    }
+
+    /**
+     * Retrieves the usage text for this configuration, limited to one command - leaving out the switches
+     * which do not apply to that command. The text is rendered the first time it is requested for a given
+     * program name and command, and retained thereafter.
+     * This method is thread-safe.
+     * @param programName name of the program, for the synopsis
+     * @param command one of the values of the command argument, or null for the full usage text
+     * @return the usage text
+     * @throws CommandArgumentException if the command is not one of the values of the command argument
+     */
+    public Usage getUsage(
+        final String programName,
+        final CommandValue command
+    ) {
+        var slot = 0;
+        if (command != null) {
+            var cx = (_commandArgument == null) ? -1 : _commandArgument.findCommandIndexForString(command);
+            if (cx < 0) {
+                throw new CommandArgumentException("Not a value of the CommandArgument:" + command.getValue());
+            }
+            slot = cx + 1;
+        }
+
+        var commandCount = (_commandArgument == null) ? 0 : _commandArgument.getCommandValues().length;
+        var usages = _usages.computeIfAbsent(programName, key -> new Usage[1 + commandCount]);
+        var usage = usages[slot];
+        if (usage == null) {
+            // If two threads get here at once, both render the text - which is harmless.
+            usage = Usage.render(programName, _commandArgument, _registeredSwitches, _positionalArguments, command);
+            usages[slot] = usage;
+        }
+        return usage;
+    }
+
+    /**
+     * Processes the command line strings in the context of the frozen configuration.
+     * This method is thread-safe.
+     * @param args Command line tokens
+     * @return Result object which is built according to the given command line text
+     */
+    public Result parse(
+        final String[] args
+    ) {
+        return parse(args, null);
+    }
+
+    /**
+     * Processes the command line strings in the context of the frozen configuration.
+     * The values of the variadic positional argument (if there is one) are not accumulated in the Result,
+     * but are instead delivered to a consumer as soon as each has been converted and restriction-checked -
+     * while the rest of the command line is still being processed. Invalid values are reported in the Result
+     * and are not delivered.
+     * This method is thread-safe, provided that the consumer is.
+     * @param args Command line tokens
+     * @param variadicConsumer Consumer of the variadic positional argument values, or null to accumulate them
+     * @return Result object which is built according to the given command line text
+     */
+    public Result parse(
+        final String[] args,
+        final Consumer<? super Value> variadicConsumer
+    ) {
+        var cache = (variadicConsumer == null) ? _resultCache : null;
+        if (cache != null) {
+            var result = cache.get(args);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        var ctx = new ParseContext(_specId, _switchesByOrdinal.length, _metrics != null, _events);
+        ctx.reset(args);
+        ctx._variadicConsumer = variadicConsumer;
+        var result = parse(ctx);
+        return (cache != null) ? cache.put(args, result) : result;
+    }
+
+    /**
+     * Processes a whole command line, which is split into tokens according to the usual shell rules
+     * for whitespace, quotes, and backslash escapes. The tokens are fed directly to the parser as they are found.
+     * This method is thread-safe.
+     * @param commandLine Command line text
+     * @return Result object which is built according to the given command line text
+     */
+    public Result parse(
+        final CharSequence commandLine
+    ) {
+        return parse(commandLine, null);
+    }
+
+    /**
+     * Processes a whole command line, delivering the values of the variadic positional argument
+     * to a consumer as they are found. See parse(String[], Consumer).
+     * This method is thread-safe, provided that the consumer is.
+     * @param commandLine Command line text
+     * @param variadicConsumer Consumer of the variadic positional argument values, or null to accumulate them
+     * @return Result object which is built according to the given command line text
+     */
+    public Result parse(
+        final CharSequence commandLine,
+        final Consumer<? super Value> variadicConsumer
+    ) {
+        var cache = (variadicConsumer == null) ? _resultCache : null;
+        if (cache != null) {
+            var result = cache.get(commandLine);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        var ctx = new ParseContext(_specId, _switchesByOrdinal.length, _metrics != null, _events);
+        ctx.reset(commandLine);
+        ctx._variadicConsumer = variadicConsumer;
+        var result = parse(ctx);
+        return (cache != null) ? cache.put(commandLine, result) : result;
+    }
+
+    /**
+     * Processes a batch of command lines in parallel, using the common fork-join pool.
+     * This method is thread-safe.
+     * @param commandLines Command line tokens for each command line
+     * @return Result objects, in the same order as the command lines
+     */
+    public List<Result> parseAll(
+        final List<String[]> commandLines
+    ) {
+        return parseAll(commandLines, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Processes a batch of command lines in parallel, using the given fork-join pool.
+     * The batch is divided into chunks, each of which is parsed by one worker with a single, reused ParseContext.
+     * This method is thread-safe.
+     * @param commandLines Command line tokens for each command line
+     * @param pool Pool on which the command lines are to be parsed
+     * @return Result objects, in the same order as the command lines
+     */
+    public List<Result> parseAll(
+        final List<String[]> commandLines,
+        final ForkJoinPool pool
+    ) {
+        var lines = commandLines.toArray(new String[0][]);
+        var results = new Result[lines.length];
+        var chunkSize = Math.max(BATCH_MINIMUM_CHUNK_SIZE, lines.length / (BATCH_CHUNKS_PER_WORKER * pool.getParallelism()));
+        pool.invoke(new BatchTask(lines, results, 0, lines.length, chunkSize));
+        return List.of(results);
+    }
+
+    /**
+     * Processes a stream of command lines in parallel, using the common fork-join pool.
+     * The stream is consumed in its entirety before any parsing is done.
+     * @param commandLines Command line tokens for each command line
+     * @return Result objects, in the encounter order of the command lines
+     */
+    public List<Result> parseAll(
+        final Stream<String[]> commandLines
+    ) {
+        return parseAll(commandLines.toList());
+    }
+
+    /**
+     * Warms up this parser on a background thread, by parsing synthetic command lines made up from its configuration -
+     * the commands, every switch in its short and long forms with values of the right type, and the positional
+     * arguments, along with a few mistakes. This gets the parse path loaded, profiled, and compiled by the JIT before
+     * real command lines arrive, which is worthwhile for a long-lived service. The synthetic command lines are neither
+     * cached nor counted in the metrics, though they do produce JFR events if those are being recorded.
+     * The thread is a daemon, so an unfinished warm-up does not keep the JVM alive.
+     * @param iterations number of synthetic command lines to parse
+     * @return a future which completes when the warm-up is done
+     */
+    public CompletableFuture<Void> warmUp(
+        final int iterations
+    ) {
+        var argumentSets = WarmUp.createArgumentSets(_commandArgument, _registeredSwitches, _positionalArguments);
+        var commandLines = WarmUp.createCommandLines(argumentSets);
+        return WarmUp.start(() -> {
+            var ctx = new ParseContext(_specId, _switchesByOrdinal.length, false, _events);
+            for (var ix = 0; ix < iterations; ++ix) {
+                // Every fourth parse is of a whole command line
+                var ax = ix % argumentSets.length;
+                if ((ix & 03) == 03) {
+                    ctx.reset(commandLines[ax]);
+                } else {
+                    ctx.reset(argumentSets[ax]);
+                }
+                parse(ctx);
+            }
+        });
+    }
+
+    /**
+     * Parses a range of a batch of command lines, splitting the range in half until it is no larger than
+     * the chunk size. Results are stored at the same index as their command lines.
+     */
+    private class BatchTask extends RecursiveAction {
+
+        private final String[][] _lines;
+        private final Result[] _results;
+        private final int _start;
+        private final int _end;
+        private final int _chunkSize;
+
+        BatchTask(
+            final String[][] lines,
+            final Result[] results,
+            final int start,
+            final int end,
+            final int chunkSize
+        ) {
+            _lines = lines;
+            _results = results;
+            _start = start;
+            _end = end;
+            _chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (_end - _start > _chunkSize) {
+                var middle = (_start + _end) >>> 1;
+                invokeAll(new BatchTask(_lines, _results, _start, middle, _chunkSize),
+                          new BatchTask(_lines, _results, middle, _end, _chunkSize));
+            } else {
+                var ctx = new ParseContext(_specId, _switchesByOrdinal.length, _metrics != null, _events);
+                for (var lx = _start; lx < _end; ++lx) {
+                    var result = (_resultCache != null) ? _resultCache.get(_lines[lx]) : null;
+                    if (result == null) {
+                        ctx.reset(_lines[lx]);
+                        result = parse(ctx);
+                        if (_resultCache != null) {
+                            result = _resultCache.put(_lines[lx], result);
+                        }
+                    }
+                    _results[lx] = result;
+                }
+            }
+        }
+    }
+
+    private Result parse(
+        final ParseContext ctx
+    ) {
+        var event = _events ? ParseEvents.beginParse() : null;
+        if (ctx._recorded && _metrics.shouldTime()) {
+            ctx.startTiming();
+        }
+
+        var checkSwitch = true;
+        while (ctx.hasMoreArguments()) {
+            var arg = ctx.nextArgument();
+            ctx.lap(ParseMetrics.Phase.TOKENIZE);
+
+            if (checkSwitch && _argumentFiles && (arg.length() > 1) && (arg.charAt(0) == '@')) {
+                ctx.includeArgumentFile(arg.substring(1), _argumentFileCache);
+                ctx.lap(ParseMetrics.Phase.TOKENIZE);
+            } else if (checkSwitch && arg.startsWith("-")) {
+                if (arg.equals("--")) {
+                    checkSwitch = false;
+                } else {
+                    processSwitch(ctx, arg);
+                }
+            } else if ((_commandArgument != null) && (ctx._chosenCommand == null)) {
+                processCommandArgument(ctx, arg);
+            } else {
+                processPositionalArgument(ctx, arg);
+            }
+            ctx.lap(ParseMetrics.Phase.VALUE_CONVERSION);
+        }
+        ctx.lap(ParseMetrics.Phase.TOKENIZE);
+
+        var lexicalError = ctx.getLexicalError();
+        if (lexicalError != null) {
+            ctx._messages.add(new Message(MessageType.ERROR, MessageCode.LEXICAL_ERROR, lexicalError));
+        }
+
+        // Collect the values of the argument switches, by ordinal
+        List<Value>[] switchValues = null;
+        for (var ordinal = 0; ordinal < ctx._valueBuilders.length; ++ordinal) {
+            if (ctx.isSpecified(ordinal) && (ctx._valueBuilders[ordinal] != null)) {
+                if (switchValues == null) {
+                    switchValues = Result.createValueArray(_switchesByOrdinal.length);
+                }
+                switchValues[ordinal] = ctx._valueBuilders[ordinal].build();
+            }
+        }
+
+        // Special checking for canonical help/version switches
+        var help = ctx.isSpecified(_helpOrdinal);
+        var version = ctx.isSpecified(_versionOrdinal);
+
+        // Do all the verification checking for the various switch and argument combinations,
+        // but *only* if we are not doing help or version - in those cases, we ignore all the rest.
+        ctx.lap(ParseMetrics.Phase.VALUE_CONVERSION);
+        if (!help && !version) {
+            var validationEvent = _events ? ParseEvents.beginConstraintValidation() : null;
+            var messageCount = ctx._messages.size();
+            validate(ctx);
+            if (validationEvent != null) {
+                var switchCount = SwitchConstraints.count(ctx._specified);
+                ParseEvents.endConstraintValidation(validationEvent, _specId, switchCount, ctx._messages.size() - messageCount);
+            }
+        }
+        ctx.lap(ParseMetrics.Phase.CONSTRAINT_VALIDATION);
+
+        if (ctx._recorded) {
+            record(ctx);
+        }
+
+        if (event != null) {
+            ParseEvents.endParse(event, _specId, ctx);
+        }
+
+        // In lazy mode, accessing the values may add messages to the Result - possibly while another thread reads them
+        var messages = ctx._messages;
+        if (_lazyConversion && (switchValues != null)) {
+            messages = new CopyOnWriteArrayList<>(messages);
+            for (var ordinal = 0; ordinal < switchValues.length; ++ordinal) {
+                if (switchValues[ordinal] != null) {
+                    var argSwitch = (ArgumentSwitch) _switchesByOrdinal[ordinal];
+                    var raw = (StringValueList) switchValues[ordinal];
+                    switchValues[ordinal] = new DeferredValueList(_specId, _events, argSwitch, raw, _stringValues, messages);
+                }
+            }
+        }
+
+        return new Result(messages,
+                          ctx._chosenCommand,
+                          _switchOrdinals,
+                          ctx._specified.clone(),
+                          switchValues,
+                          ctx._positionalSpecifications);
+    }
+
+    private void validate(
+        final ParseContext ctx
+    ) {
+        // Check the command - if we have a command argument
+        if ((_commandArgument != null) && (ctx._chosenCommand == null)) {
+            ctx._messages.add(new CommandArgumentMessage(MessageType.ERROR, MessageCode.REQUIRED_NOT_SPECIFIED));
+        }
+
+        // Check required switches, requirement sets, affinity, dependencies, and exclusions
+        _constraints.evaluate(ctx);
+
+        // Check for required positional arguments
+        int px = 0;
+        for (var posArg : _positionalArguments) {
+            if (posArg.isRequired() && (px >= ctx._positionalCount)) {
+                ctx._messages.add(new PositionalArgumentMessage(MessageType.ERROR, posArg, MessageCode.REQUIRED_NOT_SPECIFIED));
+            }
+            px++;
+        }
+    }
+
+    private void processArgumentSwitch(
+        final ParseContext ctx,
+        final String arg,
+        final int equalsIndex,
+        final ArgumentSwitch argSwitch,
+        final int ordinal
+    ) {
+        var scanner = ctx._valueScanner;
+        if (equalsIndex >= 0) {
+            // the value(s) is/are given within the argument token
+            scanner.scan(arg, equalsIndex + 1, arg.length());
+        } else {
+            // the value(s) is/are given in the following argument token
+            if (!ctx.hasMoreArguments()) {
+                ctx._messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, MessageCode.NO_VALUE_SPECIFIED));
+                return;
+            }
+            var rawValues = ctx.nextArgument();
+            ctx.lap(ParseMetrics.Phase.TOKENIZE);
+            scanner.scan(rawValues, 0, rawValues.length());
+        }
+
+        if (scanner.isUnterminated()) {
+            ctx._messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, MessageCode.UNTERMINATED_VALUE));
+            return;
+        }
+
+        if (!argSwitch.isMultiple()) {
+            if (ctx.isSpecified(ordinal) || (scanner.getCount() > 1)) {
+                ctx._messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, MessageCode.MULTIPLE_VALUES));
+                return;
+            }
+        }
+
+        // In lazy mode we only keep the raw text of the values - they are converted when they are first accessed.
+        var builder = ctx._valueBuilders[ordinal];
+        if (builder == null) {
+            builder = _lazyConversion
+                ? ValueList.createBuilder(ValueType.STRING)
+                : ValueList.createBuilder(argSwitch.getValueType(), _stringValues);
+            ctx._valueBuilders[ordinal] = builder;
+        }
+
+        // If any of the values is bad, none of the values given with this instance of the switch are kept.
+        // Bad values are common enough (and exceptions expensive enough) that we do not use the throwing API here.
+        var initialSize = builder.size();
+        for (var vx = 0; vx < scanner.getCount(); ++vx) {
+            var status = scanner.tryAddTo(vx, builder);
+            if (!status.isOk()) {
+                var text = scanner.getString(vx);
+                ctx._messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, MessageCode.INVALID_VALUE, status, text));
+                builder.truncate(initialSize);
+                return;
+            }
+        }
+
+        if (!_lazyConversion && argSwitch.hasRestriction()) {
+            var values = builder.build();
+            var restriction = argSwitch.getRestriction();
+            var vx = restriction.indexOfViolation(values, initialSize, values.size());
+            if (vx >= 0) {
+                var value = values.get(vx);
+                ctx._messages.add(new SwitchMessage(MessageType.ERROR, argSwitch, MessageCode.RESTRICTION_VIOLATED, restriction, value));
+                if (_events) {
+                    ParseEvents.restrictionFailure(_specId, argSwitch, restriction, value);
+                }
+                builder.truncate(initialSize);
+                return;
+            }
+        }
+
+        ctx.setSpecified(ordinal);
+    }
+
+    private void processCommandArgument(
+        final ParseContext ctx,
+        final String argText
+    ) {
+        // Only a quoted command needs to be parsed - otherwise we can look it up as it is.
+        var value = argText;
+        if (argText.startsWith("'") || argText.startsWith("\"")) {
+            var status = StringValue.tryParse(argText, ctx._parseResult);
+            if (!status.isOk()) {
+                ctx._messages.add(new CommandArgumentMessage(MessageType.ERROR, MessageCode.INVALID_VALUE, status, argText));
+                return;
+            }
+            value = ((StringValue) ctx._parseResult.getValue()).getValue();
+        }
+
+        ctx._chosenCommandIndex = _commandArgument.findCommandIndex(value);
+        if (ctx._chosenCommandIndex >= 0) {
+            ctx._chosenCommand = _commandArgument.getCommandValues()[ctx._chosenCommandIndex];
+        } else {
+            ctx._messages.add(new CommandArgumentMessage(MessageType.ERROR, MessageCode.INVALID_COMMAND, value));
+        }
+    }
+
+    private void processPositionalArgument(
+        final ParseContext ctx,
+        final String argText
+    ) {
+        PositionalArgument arg;
+        if (ctx._positionalCount < _positionalArguments.size()) {
+            arg = _positionalArguments.get(ctx._positionalCount);
+        } else if (_variadicArgument != null) {
+            arg = _variadicArgument;
+        } else {
+            ctx._messages.add(new Message(MessageType.WARNING, MessageCode.EXTRANEOUS_ARGUMENTS));
+            return;
+        }
+
+        var event = _events ? ParseEvents.beginPositionalConversion() : null;
+        ctx._positionalCount++;
+        var consumer = (arg == _variadicArgument) ? ctx._variadicConsumer : null;
+        var result = ctx._parseResult;
+        var status = ((_stringValues != null) && (arg.getValueType() == ValueType.STRING))
+            ? _stringValues.tryParse(argText, result)
+            : Value.tryParseText(argText, arg.getValueType(), result);
+
+        Message failure = null;
+        if (!status.isOk()) {
+            failure = new PositionalArgumentMessage(MessageType.ERROR, arg, MessageCode.INVALID_VALUE, status, argText);
+        } else if (arg.hasRestriction() && !arg.getRestriction().accepts(result.getValue())) {
+            var restriction = arg.getRestriction();
+            failure = new PositionalArgumentMessage(MessageType.ERROR, arg, MessageCode.RESTRICTION_VIOLATED, restriction, result.getValue());
+            if (_events) {
+                ParseEvents.restrictionFailure(_specId, arg, restriction, result.getValue());
+            }
+        }
+
+        if (failure != null) {
+            ctx._messages.add(failure);
+            if (consumer == null) {
+                ctx._positionalSpecifications.add(new EmptyValue());
+            }
+        } else if (consumer != null) {
+            consumer.accept(result.getValue());
+        } else {
+            ctx._positionalSpecifications.add(result.getValue());
+        }
+
+        if (event != null) {
+            ParseEvents.endPositionalConversion(event, _specId, arg, failure == null);
+        }
+    }
+
+    private void processSwitch(
+        final ParseContext ctx,
+        final String arg
+    ) {
+        var event = _events ? ParseEvents.beginSwitchProcessing() : null;
+
+        // The switch name runs up to the first unquoted '=', if there is one.
+        var equalsIndex = ValueScanner.indexOfUnquoted(arg, '=');
+        var nameEnd = (equalsIndex < 0) ? arg.length() : equalsIndex;
+        var ordinal = arg.startsWith("--")
+            ? _longNameIndex.find(arg, 2, nameEnd)
+            : _shortNameIndex.find(arg, 1, nameEnd);
+        ctx.lap(ParseMetrics.Phase.SWITCH_LOOKUP);
+
+        if (ordinal < 0) {
+            ctx._messages.add(new Message(MessageType.WARNING, MessageCode.UNRECOGNIZED_SWITCH, arg));
+            if (_events) {
+                ParseEvents.unrecognizedSwitch(_specId, arg);
+            }
+        } else if (_switchesByOrdinal[ordinal] instanceof ArgumentSwitch asw) {
+            processArgumentSwitch(ctx, arg, equalsIndex, asw, ordinal);
+        } else {
+            var swch = _switchesByOrdinal[ordinal];
+            if (ctx.isSpecified(ordinal)) {
+                ctx._messages.add(new SwitchMessage(MessageType.WARNING, swch, MessageCode.SPECIFIED_MORE_THAN_ONCE));
+            } else {
+                ctx.setSpecified(ordinal);
+            }
+        }
+
+        if (event != null) {
+            ParseEvents.endSwitchProcessing(event, _specId, arg, nameEnd, ordinal >= 0);
+        }
+    }
+
+    private void record(
+        final ParseContext ctx
+    ) {
+        _metrics.record(ctx.isTiming() ? ctx._phaseNanos : null, ctx._messages);
+        for (var wx = 0; wx < ctx._specified.length; ++wx) {
+            for (var bits = ctx._specified[wx]; bits != 0; bits &= bits - 1) {
+                _switchUsage[SwitchConstraints.ordinal(wx, bits)].increment();
+            }
+        }
+        if (ctx._chosenCommand != null) {
+            _commandUsage[ctx._chosenCommandIndex].increment();
+        }
+    }
+
+    private static void assignOrdinal(
+        final Switch sw,
+        final Map<Switch, Integer> ordinals,
+        final List<Switch> ordered
+    ) {
+        if (ordinals.putIfAbsent(sw, ordered.size()) == null) {
+            ordered.add(sw);
+        }
+    }
+}
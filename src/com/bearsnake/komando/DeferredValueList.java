@@ -0,0 +1,136 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.exceptions.InvalidValueException;
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.messages.SwitchMessage;
+import com.bearsnake.komando.values.StringValueList;
+import com.bearsnake.komando.values.StringValueTable;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+import com.bearsnake.komando.values.ValueType;
+
+import java.util.List;
+
+/**
+ * The values of an ArgumentSwitch, as produced when the parser is operating in lazy mode.
+ * We hold on to the raw (unquoted) text of the values, and only convert and restriction-check them
+ * the first time they are accessed. The outcome is cached, whether successful or not.
+ * If the values turn out to be invalid, an error message is added to the messages of the Result
+ * and an InvalidValueException is thrown - now, and upon every subsequent access.
+ * The messages list must be safe to read while another thread adds to it (the parser uses a CopyOnWriteArrayList).
+ */
+class DeferredValueList extends ValueList {
+
+    private final long _specId;
+    private final boolean _events;
+    private final ArgumentSwitch _switch;
+    private final StringValueList _raw;
+    private final StringValueTable _stringValues;
+    private final List<Message> _messages;
+
+    // Set once resolve() has run - exactly one of these will then be non-null.
+    // Volatile so that, once resolved, accesses need not take the lock.
+    private volatile ValueList _resolved = null;
+    private volatile SwitchMessage _failure = null;
+
+    DeferredValueList(
+        final long specId,
+        final boolean events,
+        final ArgumentSwitch argSwitch,
+        final StringValueList raw,
+        final StringValueTable stringValues,
+        final List<Message> messages
+    ) {
+        _specId = specId;
+        _events = events;
+        _switch = argSwitch;
+        _raw = raw;
+        _stringValues = stringValues;
+        _messages = messages;
+    }
+
+    @Override
+    public Value get(
+        final int index
+    ) {
+        return getResolved().get(index);
+    }
+
+    @Override
+    public ValueType getValueType() { return _switch.getValueType(); }
+
+    @Override
+    public int size() { return getResolved().size(); }
+
+    /**
+     * Retrieves the converted values
+     * @throws InvalidValueException if any of the values could not be converted, or violated the switch's restriction
+     */
+    ValueList getResolved() {
+        var resolved = _resolved;
+        if (resolved == null) {
+            if (!resolve()) {
+                throw new InvalidValueException(_failure.getMessage());
+            }
+            resolved = _resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Converts and checks the values, if that has not already been done
+     * @return true if the values are valid, else false
+     */
+    boolean resolve() {
+        if (_resolved != null) {
+            return true;
+        } else if (_failure != null) {
+            return false;
+        }
+
+        // The messages list is shared by all the deferred lists of a Result, so we use it to serialize resolution.
+        // The list itself is thread-safe, since it may be read while we are adding to it.
+        synchronized (_messages) {
+            if ((_resolved == null) && (_failure == null)) {
+                var builder = ValueList.createBuilder(_switch.getValueType(), _stringValues);
+                SwitchMessage failure = null;
+                for (var vx = 0; (vx < _raw.size()) && (failure == null); ++vx) {
+                    var status = _raw.tryAddTo(vx, builder);
+                    if (!status.isOk()) {
+                        var text = _raw.getString(vx);
+                        failure = new SwitchMessage(MessageType.ERROR, _switch, MessageCode.INVALID_VALUE, status, text);
+                    }
+                }
+
+                if ((failure == null) && _switch.hasRestriction()) {
+                    var values = builder.build();
+                    var restriction = _switch.getRestriction();
+                    var vx = restriction.indexOfViolation(values, 0, values.size());
+                    if (vx >= 0) {
+                        var value = values.get(vx);
+                        failure = new SwitchMessage(MessageType.ERROR, _switch, MessageCode.RESTRICTION_VIOLATED, restriction, value);
+                        if (_events) {
+                            ParseEvents.restrictionFailure(_specId, _switch, restriction, value);
+                        }
+                    }
+                }
+
+                // The message goes in before the failure is published, so that whoever sees the one sees the other
+                if (failure == null) {
+                    _resolved = builder.build();
+                } else {
+                    _messages.add(failure);
+                    _failure = failure;
+                }
+            }
+
+            return _resolved != null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import javax.management.ConstructorParameters;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations, in nanoseconds, which may be updated by any number of threads without contention.
+ * Durations are counted in power-of-two buckets - bucket n holds durations of at least 2^(n-1) and less than 2^n
+ * nanoseconds - so percentiles are reported as the upper bound of the bucket in which they fall, which is
+ * never more than twice the true value (and never more than the largest duration recorded).
+ * Each bucket is a striped LongAdder, so recording a duration does not lock, and rarely contends.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] _buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder _totalNanos = new LongAdder();
+    private final LongAccumulator _maximumNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (var bx = 0; bx < BUCKET_COUNT; ++bx) {
+            _buckets[bx] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one duration. Negative durations (which System.nanoTime() should not produce) are counted as zero.
+     */
+    public void record(
+        final long nanos
+    ) {
+        var value = Math.max(0, nanos);
+        _buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+        _totalNanos.add(value);
+        _maximumNanos.accumulate(value);
+    }
+
+    /**
+     * Discards everything recorded so far. Durations which are recorded concurrently may or may not survive.
+     */
+    public void reset() {
+        for (var bucket : _buckets) {
+            bucket.reset();
+        }
+        _totalNanos.reset();
+        _maximumNanos.reset();
+    }
+
+    /**
+     * Captures the current state of the histogram. The buckets are read one at a time, so a snapshot taken while
+     * durations are being recorded is only approximately consistent.
+     */
+    public Snapshot getSnapshot() {
+        var counts = new long[BUCKET_COUNT];
+        var count = 0L;
+        for (var bx = 0; bx < BUCKET_COUNT; ++bx) {
+            counts[bx] = _buckets[bx].sum();
+            count += counts[bx];
+        }
+
+        var maximum = _maximumNanos.get();
+        return new Snapshot(count,
+                            _totalNanos.sum(),
+                            maximum,
+                            percentile(counts, count, maximum, 0.50),
+                            percentile(counts, count, maximum, 0.90),
+                            percentile(counts, count, maximum, 0.99),
+                            percentile(counts, count, maximum, 0.999));
+    }
+
+    private static long percentile(
+        final long[] counts,
+        final long count,
+        final long maximum,
+        final double fraction
+    ) {
+        var rank = (long) Math.ceil(fraction * count);
+        var seen = 0L;
+        for (var bx = 0; bx < BUCKET_COUNT; ++bx) {
+            seen += counts[bx];
+            if ((seen >= rank) && (seen > 0)) {
+                return Math.min((1L << bx) - 1, maximum);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The state of a histogram at some moment. All durations are in nanoseconds.
+     */
+    public static class Snapshot {
+
+        private final long _count;
+        private final long _totalNanos;
+        private final long _maximumNanos;
+        private final long _medianNanos;
+        private final long _percentile90Nanos;
+        private final long _percentile99Nanos;
+        private final long _percentile999Nanos;
+
+        @ConstructorParameters({ "count", "totalNanos", "maximumNanos", "medianNanos",
+                                 "percentile90Nanos", "percentile99Nanos", "percentile999Nanos" })
+        public Snapshot(
+            final long count,
+            final long totalNanos,
+            final long maximumNanos,
+            final long medianNanos,
+            final long percentile90Nanos,
+            final long percentile99Nanos,
+            final long percentile999Nanos
+        ) {
+            _count = count;
+            _totalNanos = totalNanos;
+            _maximumNanos = maximumNanos;
+            _medianNanos = medianNanos;
+            _percentile90Nanos = percentile90Nanos;
+            _percentile99Nanos = percentile99Nanos;
+            _percentile999Nanos = percentile999Nanos;
+        }
+
+        public long getCount() { return _count; }
+        public long getTotalNanos() { return _totalNanos; }
+        public long getMaximumNanos() { return _maximumNanos; }
+        public long getMeanNanos() { return (_count == 0) ? 0 : _totalNanos / _count; }
+        public long getMedianNanos() { return _medianNanos; }
+        public long getPercentile90Nanos() { return _percentile90Nanos; }
+        public long getPercentile99Nanos() { return _percentile99Nanos; }
+        public long getPercentile999Nanos() { return _percentile999Nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%dns p50=%dns p90=%dns p99=%dns p99.9=%dns max=%dns",
+                                 _count,
+                                 getMeanNanos(),
+                                 _medianNanos,
+                                 _percentile90Nanos,
+                                 _percentile99Nanos,
+                                 _percentile999Nanos,
+                                 _maximumNanos);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.values.CommandValue;
+import com.bearsnake.komando.values.ParseResult;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Holds all the state for an invocation of CommandLineParser.parse().
+ * A context is never used by more than one thread at a time, which is what allows a single parser to be used
+ * concurrently by any number of threads. A context may be reset() and reused for a subsequent invocation
+ * on the same thread - the scratch storage is kept, while the collections which end up in the Result
+ * are created anew.
+ */
+class ParseContext {
+
+    /**
+     * An argument file which is being read
+     */
+    private static class Include {
+
+        private final Path _path;
+        private final TokenSource _tokens;
+
+        Include(
+            final Path path,
+            final TokenSource tokens
+        ) {
+            _path = path;
+            _tokens = tokens;
+        }
+    }
+
+    // Command line tokens come either from an array, or from a lexer working over a whole command line.
+    // Tokens of argument files are taken from the innermost (last) include, until it is exhausted.
+    private TokenSource _source;
+    private final TokenArray _tokenArray = new TokenArray();
+    private CommandLineLexer _lexer = null;
+    private final LinkedList<Include> _includes = new LinkedList<>();
+    List<Message> _messages;
+    List<Value> _positionalSpecifications;
+
+    // Number of positional argument tokens which have been processed, and where to deliver the values
+    // of the variadic positional argument (null to accumulate them in _positionalSpecifications)
+    int _positionalCount;
+    Consumer<? super Value> _variadicConsumer;
+
+    // Reused for scanning the value list of each argument switch
+    final ValueScanner _valueScanner = new ValueScanner();
+
+    // Reused for converting the command argument and each positional argument
+    final ParseResult _parseResult = new ParseResult();
+
+    // Bit set of the switches which have been specified, indexed by switch ordinal
+    final long[] _specified;
+
+    // Accumulates the values of each argument switch, indexed by switch ordinal
+    final ValueList.Builder[] _valueBuilders;
+
+    // chosenCommand will be the reference to one of the CommandValue objects passed to the CommandArgument
+    // object if it was specified. It will be null if we were not given a CommandArgument, or if the user
+    // has not (yet) specified a command.
+    CommandValue _chosenCommand;
+    int _chosenCommandIndex;
+
+    // Time spent in each phase of parsing, indexed by ParseMetrics.Phase ordinal - null if parsing is never timed.
+    // While the current parse is being timed, the time since the start of the current lap is charged to a phase
+    // whenever that phase ends.
+    final long[] _phaseNanos;
+    private boolean _timing;
+    private long _lapStart;
+
+    // False for the synthetic parses of a warm-up, which are not recorded in the metrics
+    final boolean _recorded;
+
+    // Identifies the parser, for events (which are only emitted if enabled) - and the number of tokens taken so far
+    private final long _specId;
+    private final boolean _events;
+    int _tokenCount;
+
+    ParseContext(
+        final long specId,
+        final int switchCount,
+        final boolean recorded,
+        final boolean events
+    ) {
+        _specId = specId;
+        _events = events;
+        _specified = new long[SwitchConstraints.wordCount(switchCount)];
+        _valueBuilders = new ValueList.Builder[switchCount];
+        _phaseNanos = recorded ? new long[ParseMetrics.Phase.values().length] : null;
+        _recorded = recorded;
+    }
+
+    /**
+     * Prepares this context for parsing the given command line tokens
+     */
+    void reset(
+        final String[] arguments
+    ) {
+        _tokenArray.reset(arguments, null);
+        _source = _tokenArray;
+        clear();
+    }
+
+    /**
+     * Prepares this context for parsing the given command line text, which is tokenized as it is parsed
+     */
+    void reset(
+        final CharSequence commandLine
+    ) {
+        if (_lexer == null) {
+            _lexer = new CommandLineLexer();
+        }
+        _lexer.reset(commandLine);
+        _source = _lexer;
+        clear();
+    }
+
+    private void clear() {
+        _includes.clear();
+        _messages = new LinkedList<>();
+        _positionalSpecifications = new LinkedList<>();
+        _positionalCount = 0;
+        _variadicConsumer = null;
+        Arrays.fill(_specified, 0L);
+        Arrays.fill(_valueBuilders, null);
+        _chosenCommand = null;
+        _chosenCommandIndex = -1;
+        _tokenCount = 0;
+        _timing = false;
+    }
+
+    /**
+     * Starts timing the current parse. Only valid if this context was created for timed parsing.
+     */
+    void startTiming() {
+        Arrays.fill(_phaseNanos, 0L);
+        _timing = true;
+        _lapStart = System.nanoTime();
+    }
+
+    boolean isTiming() {
+        return _timing;
+    }
+
+    /**
+     * Charges the time since the previous lap to the given phase, if the current parse is being timed
+     */
+    void lap(
+        final ParseMetrics.Phase phase
+    ) {
+        if (_timing) {
+            var now = System.nanoTime();
+            _phaseNanos[phase.ordinal()] += now - _lapStart;
+            _lapStart = now;
+        }
+    }
+
+    boolean hasMoreArguments() {
+        while (!_includes.isEmpty()) {
+            if (_includes.getLast()._tokens.hasNext()) {
+                return true;
+            }
+
+            var include = _includes.removeLast();
+            var error = include._tokens.getError();
+            if (error != null) {
+                _messages.add(new Message(MessageType.ERROR, MessageCode.ARGUMENT_FILE_LEXICAL_ERROR, error, include._path));
+            }
+        }
+        return _source.hasNext();
+    }
+
+    String nextArgument() {
+        var event = _events ? ParseEvents.beginTokenScan() : null;
+        var token = _includes.isEmpty() ? _source.next() : _includes.getLast()._tokens.next();
+        if (event != null) {
+            ParseEvents.endTokenScan(event, _specId, _tokenCount, token.length());
+        }
+        _tokenCount++;
+        return token;
+    }
+
+    /**
+     * Describes any problem found while tokenizing the command line text
+     * @return description of the problem, or null if there was none
+     */
+    String getLexicalError() {
+        return _source.getError();
+    }
+
+    /**
+     * Arranges for the tokens of an argument file to be taken before any further tokens.
+     * Problems with the file are reported as error messages.
+     * @param fileName name of the file, as given on the command line
+     * @param cache cache of argument file tokens, or null to read the file regardless
+     */
+    void includeArgumentFile(
+        final String fileName,
+        final ArgumentFileCache cache
+    ) {
+        try {
+            var path = Path.of(fileName).toRealPath();
+            for (var include : _includes) {
+                if (include._path.equals(path)) {
+                    _messages.add(new Message(MessageType.ERROR, MessageCode.ARGUMENT_FILE_CIRCULAR_REFERENCE, fileName));
+                    return;
+                }
+            }
+
+            TokenSource tokens;
+            if (cache != null) {
+                tokens = cache.getTokens(path);
+            } else {
+                var lexer = new CommandLineLexer();
+                lexer.reset(ArgumentFiles.read(path));
+                tokens = lexer;
+            }
+            _includes.add(new Include(path, tokens));
+        } catch (IOException | InvalidPathException ex) {
+            _messages.add(new Message(MessageType.ERROR, MessageCode.ARGUMENT_FILE_UNREADABLE, fileName));
+        }
+    }
+
+    boolean isSpecified(
+        final int ordinal
+    ) {
+        return SwitchConstraints.isSet(_specified, ordinal);
+    }
+
+    void setSpecified(
+        final int ordinal
+    ) {
+        SwitchConstraints.set(_specified, ordinal);
+    }
+}
@@ -0,0 +1,185 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.events.ConstraintValidationEvent;
+import com.bearsnake.komando.events.ParseEvent;
+import com.bearsnake.komando.events.PositionalConversionEvent;
+import com.bearsnake.komando.events.RestrictionFailureEvent;
+import com.bearsnake.komando.events.SwitchProcessingEvent;
+import com.bearsnake.komando.events.TokenScanEvent;
+import com.bearsnake.komando.events.UnrecognizedSwitchEvent;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.restrictions.Restriction;
+import com.bearsnake.komando.values.Value;
+
+/**
+ * Emits the JFR events of the parser. This is the only class outside the events package which refers to them,
+ * and it is only used when events are enabled by CommandLineHandler.setFlightRecorderEvents() - on JDK 17,
+ * loading the first event class starts up the Java side of JFR (whether or not anything is recording),
+ * which would otherwise be paid for by every program on its first parse.
+ * Events which have a duration are begun by one method and ended by another. The event is passed between them
+ * as an Object, so that the callers do not refer to (and the verifier does not load) the event classes.
+ */
+final class ParseEvents {
+
+    private ParseEvents() {}
+
+    static Object beginParse() {
+        var event = new ParseEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endParse(
+        final Object begun,
+        final long specId,
+        final ParseContext ctx
+    ) {
+        var event = (ParseEvent) begun;
+        event.end();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.tokenCount = ctx._tokenCount;
+            event.switchCount = SwitchConstraints.count(ctx._specified);
+            event.positionalCount = ctx._positionalCount;
+            for (var message : ctx._messages) {
+                var messageType = message.getProcessMessageType();
+                if ((messageType == MessageType.ERROR) || (messageType == MessageType.FATAL)) {
+                    event.errorCount++;
+                } else if (messageType == MessageType.WARNING) {
+                    event.warningCount++;
+                }
+            }
+            event.commit();
+        }
+    }
+
+    static Object beginConstraintValidation() {
+        var event = new ConstraintValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endConstraintValidation(
+        final Object begun,
+        final long specId,
+        final int switchCount,
+        final int violationCount
+    ) {
+        var event = (ConstraintValidationEvent) begun;
+        event.end();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.switchCount = switchCount;
+            event.violationCount = violationCount;
+            event.commit();
+        }
+    }
+
+    static Object beginPositionalConversion() {
+        var event = new PositionalConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endPositionalConversion(
+        final Object begun,
+        final long specId,
+        final PositionalArgument argument,
+        final boolean valid
+    ) {
+        var event = (PositionalConversionEvent) begun;
+        event.end();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.argument = argument.getValueName();
+            event.valid = valid;
+            event.commit();
+        }
+    }
+
+    static Object beginSwitchProcessing() {
+        var event = new SwitchProcessingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param nameEnd index in the token of the end of the switch name
+     */
+    static void endSwitchProcessing(
+        final Object begun,
+        final long specId,
+        final String token,
+        final int nameEnd,
+        final boolean recognized
+    ) {
+        var event = (SwitchProcessingEvent) begun;
+        event.end();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.switchName = token.substring(0, nameEnd);
+            event.recognized = recognized;
+            event.commit();
+        }
+    }
+
+    static Object beginTokenScan() {
+        var event = new TokenScanEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endTokenScan(
+        final Object begun,
+        final long specId,
+        final int tokenIndex,
+        final int tokenLength
+    ) {
+        var event = (TokenScanEvent) begun;
+        event.end();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.tokenIndex = tokenIndex;
+            event.tokenLength = tokenLength;
+            event.commit();
+        }
+    }
+
+    static void unrecognizedSwitch(
+        final long specId,
+        final String token
+    ) {
+        var event = new UnrecognizedSwitchEvent();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.token = token;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits an event for a value which was rejected by a restriction, if such events are being recorded
+     * @param argument the Switch or PositionalArgument to which the value was given
+     */
+    static void restrictionFailure(
+        final long specId,
+        final Object argument,
+        final Restriction restriction,
+        final Value value
+    ) {
+        var event = new RestrictionFailureEvent();
+        if (event.shouldCommit()) {
+            event.specId = specId;
+            event.argument = (argument instanceof PositionalArgument posArg)
+                ? "{" + posArg.getValueName() + "}"
+                : argument.toString();
+            event.value = value.toString();
+            event.restriction = restriction.toString();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.values.CommandValue;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics about the command lines processed by the parsers of one or more handlers:
+ * how many were parsed, how long each phase of parsing took, the messages which were produced (by type and code),
+ * and how often each switch and each command was specified.
+ * Every counter is a striped LongAdder, so any number of threads may parse concurrently without contending
+ * for the metrics. Parsing is only counted when metrics are given to the handler with setMetrics().
+ * Timing the phases of a parse costs several System.nanoTime() calls per token - more than the parse itself,
+ * for short command lines - so only a random sample of parses is timed. The counts are always exact.
+ * The metrics can be published as a platform MBean with registerMBean().
+ * In lazy conversion mode, messages about switch values are produced when the values are accessed rather than
+ * while the command line is processed, and those messages are not counted here.
+ */
+public class ParseMetrics implements ParseMetricsMXBean {
+
+    /**
+     * The phases of processing a command line, which are timed separately.
+     * Tokenizing includes reading argument files. Value conversion includes restriction checking,
+     * and the processing of command and positional arguments.
+     */
+    public enum Phase {
+        TOKENIZE,
+        SWITCH_LOOKUP,
+        VALUE_CONVERSION,
+        CONSTRAINT_VALIDATION
+    }
+
+    public static final String OBJECT_NAME_DOMAIN = "com.bearsnake.komando";
+    public static final int DEFAULT_TIMING_INTERVAL = 32;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final MessageCode[] MESSAGE_CODES = MessageCode.values();
+
+    private final LongAdder _parseCount = new LongAdder();
+    private final LatencyHistogram _parseLatency = new LatencyHistogram();
+    private final LatencyHistogram[] _phaseLatencies = new LatencyHistogram[PHASES.length];
+
+    // Indexed by MessageType ordinal * MESSAGE_CODES.length + MessageCode ordinal
+    private final LongAdder[] _messageCounts = new LongAdder[MESSAGE_TYPES.length * MESSAGE_CODES.length];
+
+    // Each parser fetches the counters for its switches and commands when it is built,
+    // so that these maps are not consulted while parsing.
+    private final ConcurrentHashMap<Switch, LongAdder> _switchUsage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CommandValue, LongAdder> _commandUsage = new ConcurrentHashMap<>();
+
+    // One parse in (_timingMask + 1) is timed
+    private final int _timingMask;
+
+    private ObjectName _objectName = null;
+
+    public ParseMetrics() {
+        this(DEFAULT_TIMING_INTERVAL);
+    }
+
+    /**
+     * @param timingInterval on average, one parse in this many is timed - rounded up to a power of two.
+     *                       1 times every parse.
+     */
+    public ParseMetrics(
+        final int timingInterval
+    ) {
+        _timingMask = (timingInterval <= 1) ? 0 : (Integer.highestOneBit(timingInterval - 1) << 1) - 1;
+        for (var px = 0; px < PHASES.length; ++px) {
+            _phaseLatencies[px] = new LatencyHistogram();
+        }
+        for (var mx = 0; mx < _messageCounts.length; ++mx) {
+            _messageCounts[mx] = new LongAdder();
+        }
+    }
+
+    public LatencyHistogram.Snapshot getLatency(
+        final Phase phase
+    ) {
+        return _phaseLatencies[phase.ordinal()].getSnapshot();
+    }
+
+    public long getMessageCount(
+        final MessageType messageType,
+        final MessageCode code
+    ) {
+        return _messageCounts[messageType.ordinal() * MESSAGE_CODES.length + code.ordinal()].sum();
+    }
+
+    public long getMessageCount(
+        final MessageType messageType
+    ) {
+        var count = 0L;
+        for (var code : MESSAGE_CODES) {
+            count += getMessageCount(messageType, code);
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the number of command lines on which a switch was specified
+     */
+    public long getSwitchUsage(
+        final Switch swch
+    ) {
+        var counter = _switchUsage.get(swch);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
+    /**
+     * Retrieves the number of command lines on which a command was chosen
+     */
+    public long getCommandUsage(
+        final CommandValue command
+    ) {
+        var counter = _commandUsage.get(command);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
+    @Override
+    public long getParseCount() {
+        return _parseCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return getMessageCount(MessageType.ERROR) + getMessageCount(MessageType.FATAL);
+    }
+
+    @Override
+    public long getWarningCount() {
+        return getMessageCount(MessageType.WARNING);
+    }
+
+    @Override
+    public long getUnrecognizedSwitchCount() {
+        return getMessageCount(MessageType.WARNING, MessageCode.UNRECOGNIZED_SWITCH);
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getParseLatency() { return _parseLatency.getSnapshot(); }
+
+    @Override
+    public LatencyHistogram.Snapshot getTokenizeLatency() { return getLatency(Phase.TOKENIZE); }
+
+    @Override
+    public LatencyHistogram.Snapshot getSwitchLookupLatency() { return getLatency(Phase.SWITCH_LOOKUP); }
+
+    @Override
+    public LatencyHistogram.Snapshot getValueConversionLatency() { return getLatency(Phase.VALUE_CONVERSION); }
+
+    @Override
+    public LatencyHistogram.Snapshot getConstraintValidationLatency() { return getLatency(Phase.CONSTRAINT_VALIDATION); }
+
+    /**
+     * Retrieves the counts of the messages which have been produced, omitting those which have not
+     */
+    @Override
+    public Map<String, Long> getMessageCounts() {
+        var result = new TreeMap<String, Long>();
+        for (var messageType : MESSAGE_TYPES) {
+            for (var code : MESSAGE_CODES) {
+                var count = getMessageCount(messageType, code);
+                if (count != 0) {
+                    result.put(messageType.name() + "." + code.name(), count);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getSwitchUsage() {
+        var result = new TreeMap<String, Long>();
+        _switchUsage.forEach((swch, counter) -> result.merge(swch.toString(), counter.sum(), Long::sum));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getCommandUsage() {
+        var result = new TreeMap<String, Long>();
+        _commandUsage.forEach((command, counter) -> result.merge(command.getValue(), counter.sum(), Long::sum));
+        return result;
+    }
+
+    /**
+     * Sets all the counts back to zero. Parses which are in progress may or may not be counted.
+     */
+    @Override
+    public void reset() {
+        _parseCount.reset();
+        _parseLatency.reset();
+        for (var histogram : _phaseLatencies) {
+            histogram.reset();
+        }
+        for (var counter : _messageCounts) {
+            counter.reset();
+        }
+        _switchUsage.values().forEach(LongAdder::reset);
+        _commandUsage.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server,
+     * as com.bearsnake.komando:type=ParseMetrics,name={name}
+     * @param name distinguishes these metrics from those of other handlers in the same JVM
+     * @return the name under which the metrics were registered
+     * @throws JMException if the name is not valid, or is already registered
+     */
+    public synchronized ObjectName registerMBean(
+        final String name
+    ) throws JMException {
+        var objectName = new ObjectName(OBJECT_NAME_DOMAIN + ":type=ParseMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        _objectName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if they were registered
+     * @throws JMException if the metrics could not be removed
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (_objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(_objectName);
+            _objectName = null;
+        }
+    }
+
+    /**
+     * Decides whether the parse which is about to start is to be timed
+     */
+    boolean shouldTime() {
+        return (_timingMask == 0) || ((ThreadLocalRandom.current().nextInt() & _timingMask) == 0);
+    }
+
+    LongAdder getSwitchCounter(
+        final Switch swch
+    ) {
+        return _switchUsage.computeIfAbsent(swch, sw -> new LongAdder());
+    }
+
+    LongAdder getCommandCounter(
+        final CommandValue command
+    ) {
+        return _commandUsage.computeIfAbsent(command, cmd -> new LongAdder());
+    }
+
+    /**
+     * Records the processing of one command line
+     * @param phaseNanos time spent in each phase, indexed by Phase ordinal - null if the parse was not timed
+     * @param messages the messages which were produced
+     */
+    void record(
+        final long[] phaseNanos,
+        final List<Message> messages
+    ) {
+        _parseCount.increment();
+        if (phaseNanos != null) {
+            var total = 0L;
+            for (var px = 0; px < PHASES.length; ++px) {
+                _phaseLatencies[px].record(phaseNanos[px]);
+                total += phaseNanos[px];
+            }
+            _parseLatency.record(total);
+        }
+
+        for (var message : messages) {
+            var index = message.getProcessMessageType().ordinal() * MESSAGE_CODES.length + message.getCode().ordinal();
+            _messageCounts[index].increment();
+        }
+    }
+}
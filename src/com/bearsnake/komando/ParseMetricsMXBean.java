@@ -0,0 +1,32 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import java.util.Map;
+
+/**
+ * The management interface of ParseMetrics, as it appears in JMX.
+ * Latencies are in nanoseconds. Counts keyed by message are keyed by message type and code, as in "ERROR.INVALID_VALUE";
+ * switch usage is keyed by the switch's names, and command usage by the command.
+ */
+public interface ParseMetricsMXBean {
+
+    long getParseCount();
+    long getErrorCount();
+    long getWarningCount();
+    long getUnrecognizedSwitchCount();
+
+    LatencyHistogram.Snapshot getParseLatency();
+    LatencyHistogram.Snapshot getTokenizeLatency();
+    LatencyHistogram.Snapshot getSwitchLookupLatency();
+    LatencyHistogram.Snapshot getValueConversionLatency();
+    LatencyHistogram.Snapshot getConstraintValidationLatency();
+
+    Map<String, Long> getMessageCounts();
+    Map<String, Long> getSwitchUsage();
+    Map<String, Long> getCommandUsage();
+
+    void reset();
+}
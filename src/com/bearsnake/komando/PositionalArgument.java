@@ -17,11 +17,14 @@ import java.util.List;
  * A PositionalArgument is a value which is presented on the command line.
  * This value modifies or defines the behavior of the program.
  * The position of the argument is significant.
+ * The last positional argument may be variadic, in which case it accepts any number of values -
+ * all the tokens which remain once the preceding positional arguments have been satisfied.
  */
 public class PositionalArgument {
 
     private final String[] _description;
     private final boolean _isRequired;
+    private final boolean _isVariadic;
     private final Restriction _restriction;
     private final String _valueName;
     private final ValueType _valueType;
@@ -32,9 +35,21 @@ public class PositionalArgument {
         final String valueName,
         final ValueType valueType,
         final Restriction restriction
+    ) {
+        this(description, isRequired, false, valueName, valueType, restriction);
+    }
+
+    public PositionalArgument(
+        final String[] description,
+        final boolean isRequired,
+        final boolean isVariadic,
+        final String valueName,
+        final ValueType valueType,
+        final Restriction restriction
     ) {
         _description = description;
         _isRequired = isRequired;
+        _isVariadic = isVariadic;
         _restriction = restriction;
         _valueName = valueName;
         _valueType = valueType;
@@ -45,6 +60,7 @@ public class PositionalArgument {
     public String getValueName() { return _valueName; }
     public ValueType getValueType() { return _valueType; }
     public boolean isRequired() { return _isRequired; }
+    public boolean isVariadic() { return _isVariadic; }
     public boolean hasRestriction() { return _restriction != null; }
 
     public void checkRestriction(
@@ -58,12 +74,14 @@ public class PositionalArgument {
     public static class Builder {
         private final List<String> _description = new LinkedList<>();
         private boolean _isRequired = false;
+        private boolean _isVariadic = false;
         private Restriction _restriction = null;
         private String _valueName = null;
         private ValueType _valueType = null;
 
         public Builder addDescription(String value) { _description.add(value); return this; }
         public Builder setIsRequired(boolean value) { _isRequired = value; return this; }
+        public Builder setIsVariadic(boolean value) { _isVariadic = value; return this; }
         public Builder setRestriction(Restriction value) { _restriction = value; return this; }
         public Builder setValueName(String value) { _valueName = value; return this; }
         public Builder setValueType(ValueType value) { _valueType = value; return this; }
@@ -84,6 +102,7 @@ public class PositionalArgument {
             return new PositionalArgument(
                 _description.toArray(new String[0]),
                 _isRequired,
+                _isVariadic,
                 _valueName,
                 _valueType,
                 _restriction
@@ -4,33 +4,111 @@
 
 package com.bearsnake.komando;
 
+import com.bearsnake.komando.exceptions.SwitchNotSpecifiedException;
 import com.bearsnake.komando.messages.Message;
 import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.values.BooleanValue;
+import com.bearsnake.komando.values.BooleanValueList;
 import com.bearsnake.komando.values.CommandValue;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FixedPointValueList;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.FloatingPointValueList;
+import com.bearsnake.komando.values.StringValue;
+import com.bearsnake.komando.values.StringValueList;
 import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+/**
+ * The outcome of parsing one command line.
+ * The switches are held by ordinal: which switches were specified is a bit set, and the values of the
+ * ArgumentSwitches are in an array - so that a lookup is an id hash, a bit test, and an array access.
+ */
 public class Result {
 
+    /**
+     * The messages for the parse. For results produced in lazy mode, messages are added when bad values are
+     * first accessed - the list is then thread-safe, and may be iterated while another thread adds to it.
+     */
     public final List<Message> _messages;
     public final CommandValue _commandValue;
+
+    /**
+     * A read-only view of the specified switches, in ordinal order, each mapped to its values
+     * (or to null for a SimpleSwitch). Retained for compatibility - prefer the accessors.
+     */
     public final Map<Switch, List<Value>> _switchSpecifications;
     public final List<Value> _positionalArgumentSpecifications;
 
+    private final SwitchOrdinals _ordinals;
+    private final long[] _specified;
+    private final List<Value>[] _values; // indexed by ordinal - null if no ArgumentSwitch was specified
+
     public Result(
         final List<Message> messages,
         final CommandValue commandValue,
         final Map<Switch, List<Value>> switchSpecifications,
         final List<Value> positionalArgumentSpecifications
+    ) {
+        this(messages,
+             commandValue,
+             switchSpecifications.keySet().toArray(new Switch[0]),
+             switchSpecifications,
+             positionalArgumentSpecifications);
+    }
+
+    private Result(
+        final List<Message> messages,
+        final CommandValue commandValue,
+        final Switch[] switches,
+        final Map<Switch, List<Value>> switchSpecifications,
+        final List<Value> positionalArgumentSpecifications
+    ) {
+        this(messages,
+             commandValue,
+             new SwitchOrdinals(switches),
+             allSpecified(switches.length),
+             valuesOf(switches, switchSpecifications),
+             positionalArgumentSpecifications);
+    }
+
+    /**
+     * @param ordinals the ordinals of the switches of the configuration
+     * @param specified bit set of the switches which were specified, indexed by ordinal - not copied
+     * @param values values of the specified ArgumentSwitches, indexed by ordinal - not copied, and may be null
+     */
+    Result(
+        final List<Message> messages,
+        final CommandValue commandValue,
+        final SwitchOrdinals ordinals,
+        final long[] specified,
+        final List<Value>[] values,
+        final List<Value> positionalArgumentSpecifications
     ) {
         _messages = messages;
         _commandValue = commandValue;
-        _switchSpecifications = switchSpecifications;
+        _ordinals = ordinals;
+        _specified = specified;
+        _values = values;
+        _switchSpecifications = new SpecificationMap();
         _positionalArgumentSpecifications = positionalArgumentSpecifications;
     }
 
+    @SuppressWarnings("unchecked")
+    static List<Value>[] createValueArray(
+        final int switchCount
+    ) {
+        return (List<Value>[]) new List<?>[switchCount];
+    }
+
     public boolean hasErrors() {
         for (var m : _messages) {
             var msgType = m.getProcessMessageType();
@@ -51,10 +129,280 @@ public class Result {
     }
 
     public boolean isHelpRequested() {
-        return _switchSpecifications.containsKey(CommandLineHandler.HELP_SWITCH);
+        return SwitchConstraints.isSet(_specified, _ordinals.getHelpOrdinal());
     }
 
     public boolean isVersionRequested() {
-        return _switchSpecifications.containsKey(CommandLineHandler.VERSION_SWITCH);
+        return SwitchConstraints.isSet(_specified, _ordinals.getVersionOrdinal());
+    }
+
+    public boolean isSpecified(
+        final Switch swch
+    ) {
+        return SwitchConstraints.isSet(_specified, _ordinals.find(swch));
+    }
+
+    /*
+     * Typed accessors for the values of ArgumentSwitches.
+     * The singular forms return the first (usually the only) value of the switch, and throw
+     * SwitchNotSpecifiedException if the switch was not specified. The plural forms return all the values
+     * of the switch, or an empty array if the switch was not specified.
+     * All of these throw ClassCastException if the switch has values of some other type.
+     */
+
+    public boolean getBoolean(
+        final Switch swch
+    ) {
+        return ((BooleanValue) getFirstValue(swch)).getBoolean();
+    }
+
+    public boolean[] getBooleans(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        if (values instanceof BooleanValueList list) {
+            return list.toBooleanArray();
+        }
+
+        var result = new boolean[values.size()];
+        var vx = 0;
+        for (var value : values) {
+            result[vx++] = ((BooleanValue) value).getBoolean();
+        }
+        return result;
+    }
+
+    public double getDouble(
+        final Switch swch
+    ) {
+        return ((FloatingPointValue) getFirstValue(swch)).getDouble();
+    }
+
+    public double[] getDoubles(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        if (values instanceof FloatingPointValueList list) {
+            return list.toDoubleArray();
+        }
+
+        var result = new double[values.size()];
+        var vx = 0;
+        for (var value : values) {
+            result[vx++] = ((FloatingPointValue) value).getDouble();
+        }
+        return result;
+    }
+
+    public long getLong(
+        final Switch swch
+    ) {
+        return ((FixedPointValue) getFirstValue(swch)).getLong();
+    }
+
+    public long[] getLongs(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        if (values instanceof FixedPointValueList list) {
+            return list.toLongArray();
+        }
+
+        var result = new long[values.size()];
+        var vx = 0;
+        for (var value : values) {
+            result[vx++] = ((FixedPointValue) value).getLong();
+        }
+        return result;
+    }
+
+    public String getString(
+        final Switch swch
+    ) {
+        return ((StringValue) getFirstValue(swch)).getValue();
+    }
+
+    public String[] getStrings(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        if (values instanceof StringValueList list) {
+            return list.toStringArray();
+        }
+
+        var result = new String[values.size()];
+        var vx = 0;
+        for (var value : values) {
+            result[vx++] = ((StringValue) value).getValue();
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the values of an ArgumentSwitch in their compact form
+     * @return the values, or null if the switch was not specified
+     */
+    public ValueList getValueList(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        return (values instanceof ValueList list) ? list : null;
+    }
+
+    /**
+     * For results produced in lazy mode, converts and checks the values of all the specified switches
+     * which have not yet been accessed. Any problems are added to the messages for this result.
+     * For results produced in eager mode, this does nothing.
+     * @return true if there are no errors (including errors unrelated to switch values), else false
+     */
+    public boolean validateAll() {
+        if (_values != null) {
+            for (var values : _values) {
+                if (values instanceof DeferredValueList dvl) {
+                    dvl.resolve();
+                }
+            }
+        }
+        return !hasErrors();
+    }
+
+    /**
+     * Produces an immutable copy of this result, which may be shared.
+     * Not for results produced in lazy mode, since accessing their values may add messages.
+     */
+    Result toImmutable() {
+        return new Result(List.copyOf(_messages),
+                          _commandValue,
+                          _ordinals,
+                          _specified,
+                          _values,
+                          List.copyOf(_positionalArgumentSpecifications));
+    }
+
+    private Value getFirstValue(
+        final Switch swch
+    ) {
+        var values = getValues(swch);
+        if (values.isEmpty()) {
+            throw new SwitchNotSpecifiedException(swch);
+        }
+        return values.get(0);
+    }
+
+    /**
+     * Retrieves the values for a switch, converting them if necessary (for lazy mode).
+     * The result is empty if the switch was not specified, or is a SimpleSwitch.
+     */
+    private List<Value> getValues(
+        final Switch swch
+    ) {
+        var values = getRawValues(_ordinals.find(swch));
+        if (values instanceof DeferredValueList dvl) {
+            return dvl.getResolved();
+        }
+        return (values == null) ? List.of() : values;
+    }
+
+    /**
+     * Retrieves the values for an ordinal as they are held - unconverted, for lazy mode
+     * @return the values, or null if the switch was not specified or is a SimpleSwitch (or the ordinal is -1)
+     */
+    private List<Value> getRawValues(
+        final int ordinal
+    ) {
+        return ((ordinal >= 0) && (_values != null)) ? _values[ordinal] : null;
+    }
+
+    private static long[] allSpecified(
+        final int switchCount
+    ) {
+        var specified = new long[SwitchConstraints.wordCount(switchCount)];
+        for (var ordinal = 0; ordinal < switchCount; ++ordinal) {
+            SwitchConstraints.set(specified, ordinal);
+        }
+        return specified;
+    }
+
+    private static List<Value>[] valuesOf(
+        final Switch[] switches,
+        final Map<Switch, List<Value>> switchSpecifications
+    ) {
+        var values = createValueArray(switches.length);
+        for (var ordinal = 0; ordinal < switches.length; ++ordinal) {
+            values[ordinal] = switchSpecifications.get(switches[ordinal]);
+        }
+        return values;
+    }
+
+    /**
+     * The read-only Map view of the switch specifications
+     */
+    private class SpecificationMap extends AbstractMap<Switch, List<Value>> {
+
+        @Override
+        public boolean containsKey(
+            final Object key
+        ) {
+            return SwitchConstraints.isSet(_specified, _ordinals.find(key));
+        }
+
+        @Override
+        public List<Value> get(
+            final Object key
+        ) {
+            var ordinal = _ordinals.find(key);
+            return SwitchConstraints.isSet(_specified, ordinal) ? getRawValues(ordinal) : null;
+        }
+
+        @Override
+        public int size() {
+            return SwitchConstraints.count(_specified);
+        }
+
+        @Override
+        public Set<Entry<Switch, List<Value>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Switch, List<Value>>> iterator() { return new SpecificationIterator(); }
+
+                @Override
+                public int size() { return SpecificationMap.this.size(); }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the specified switches in ordinal order
+     */
+    private class SpecificationIterator implements Iterator<Map.Entry<Switch, List<Value>>> {
+
+        private int _next = nextSpecified(0);
+
+        @Override
+        public boolean hasNext() {
+            return _next >= 0;
+        }
+
+        @Override
+        public Map.Entry<Switch, List<Value>> next() {
+            if (_next < 0) {
+                throw new NoSuchElementException();
+            }
+
+            var ordinal = _next;
+            _next = nextSpecified(ordinal + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(_ordinals.getSwitch(ordinal), getRawValues(ordinal));
+        }
+
+        private int nextSpecified(
+            final int from
+        ) {
+            for (var ordinal = from; ordinal < _ordinals.getCount(); ++ordinal) {
+                if (SwitchConstraints.isSet(_specified, ordinal)) {
+                    return ordinal;
+                }
+            }
+            return -1;
+        }
     }
 }
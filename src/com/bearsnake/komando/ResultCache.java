@@ -0,0 +1,251 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retains the Results of recently parsed command lines, so that a command line which is parsed again
+ * (token for token, or character for character) produces the retained Result without being parsed at all.
+ * A cache belongs to one CommandLineParser, since Results depend upon the configuration - see
+ * CommandLineHandler.setResultCache().
+ * The cache holds at most a fixed number of Results, evicting the least recently used.
+ * It is divided into segments by the hash of the command line, each with its own lock and its own share of
+ * the capacity, so that threads which look up different command lines seldom wait for each other.
+ * Cached Results are immutable - their lists cannot be modified - so one Result may be returned to any number
+ * of callers. (Results of lazy conversion are never cached, since accessing their values may add messages.)
+ * A command line is only retained once it has been seen before (recently), as remembered by a small table of hashes.
+ * Command lines which occur only once therefore do not displace those which recur, and cost little more than
+ * the lookup - retaining every Result would keep each one alive long enough to be copied by the garbage collector,
+ * which for a stream of distinct command lines is slower than parsing them.
+ */
+public final class ResultCache {
+
+    private static final int MAXIMUM_SEGMENT_COUNT = 16;
+    private static final int MAXIMUM_RECENT_COUNT = 1 << 20;
+
+    /**
+     * The key for a command line given as an array of tokens.
+     * A key for a lookup wraps the caller's array; a key which is retained wraps a copy of it.
+     */
+    private static final class TokensKey {
+
+        private final String[] _tokens;
+        private final int _hash;
+
+        TokensKey(
+            final String[] tokens,
+            final int hash
+        ) {
+            _tokens = tokens;
+            _hash = hash;
+        }
+
+        @Override
+        public boolean equals(
+            final Object obj
+        ) {
+            return (obj instanceof TokensKey key) && (_hash == key._hash) && Arrays.equals(_tokens, key._tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hash;
+        }
+    }
+
+    /**
+     * A least-recently-used map, which must be locked for every access (including get(), which reorders it)
+     */
+    private final class Segment extends LinkedHashMap<Object, Result> {
+
+        private final int _capacity;
+
+        Segment(
+            final int capacity
+        ) {
+            super(16, 0.75f, true);
+            _capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+            final Map.Entry<Object, Result> eldest
+        ) {
+            if (size() > _capacity) {
+                _evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final int _maximumSize;
+    private final Segment[] _segments;
+    private final int _segmentMask;
+    private final int[] _recentHashes; // hashes of command lines seen once, indexed by (some bits of) the hash
+    private final int _recentMask;
+    private final LongAdder _hitCount = new LongAdder();
+    private final LongAdder _missCount = new LongAdder();
+    private final LongAdder _evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize the greatest number of Results which are retained - at least 1
+     */
+    ResultCache(
+        final int maximumSize
+    ) {
+        _maximumSize = maximumSize;
+        var segmentCount = Math.min(MAXIMUM_SEGMENT_COUNT, Integer.highestOneBit(maximumSize));
+        _segments = new Segment[segmentCount];
+        _segmentMask = segmentCount - 1;
+        for (var sx = 0; sx < segmentCount; ++sx) {
+            // The capacity is shared out as evenly as possible, so that the segments add up to the maximum size
+            _segments[sx] = new Segment(maximumSize / segmentCount + ((sx < maximumSize % segmentCount) ? 1 : 0));
+        }
+        // The table of recent hashes has a slot or two per Result, up to its own limit
+        var recentCount = Integer.highestOneBit(Math.min(maximumSize, MAXIMUM_RECENT_COUNT >> 1)) << 1;
+        _recentHashes = new int[recentCount];
+        _recentMask = recentCount - 1;
+    }
+
+    public int getMaximumSize() { return _maximumSize; }
+    public long getHitCount() { return _hitCount.sum(); }
+    public long getMissCount() { return _missCount.sum(); }
+    public long getEvictionCount() { return _evictionCount.sum(); }
+
+    /**
+     * Retrieves the proportion of lookups which found a Result, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        var hits = getHitCount();
+        var lookups = hits + getMissCount();
+        return (lookups == 0) ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Retrieves the number of Results which are currently retained
+     */
+    public int size() {
+        var size = 0;
+        for (var segment : _segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Discards all the retained Results. The statistics are not affected.
+     */
+    public void clear() {
+        for (var segment : _segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the Result for a command line given as tokens
+     * @return the Result, or null if there is none
+     */
+    Result get(
+        final String[] tokens
+    ) {
+        return lookup(new TokensKey(tokens, Arrays.hashCode(tokens)));
+    }
+
+    /**
+     * Retrieves the Result for a whole command line
+     * @return the Result, or null if there is none
+     */
+    Result get(
+        final CharSequence commandLine
+    ) {
+        return lookup(commandLine.toString());
+    }
+
+    /**
+     * Retains the Result for a command line given as tokens, if the command line has been seen before
+     * @return the retained form of the Result (or the Result itself if it is not retained),
+     * which is to be returned in place of the one given
+     */
+    Result put(
+        final String[] tokens,
+        final Result result
+    ) {
+        var hash = Arrays.hashCode(tokens);
+        return isRecurrence(hash) ? retain(new TokensKey(tokens.clone(), hash), result) : result;
+    }
+
+    /**
+     * Retains the Result for a whole command line, if the command line has been seen before
+     * @return the retained form of the Result (or the Result itself if it is not retained),
+     * which is to be returned in place of the one given
+     */
+    Result put(
+        final CharSequence commandLine,
+        final Result result
+    ) {
+        var key = commandLine.toString();
+        return isRecurrence(key.hashCode()) ? retain(key, result) : result;
+    }
+
+    /**
+     * Determines whether a command line with the given hash has been seen recently, remembering it if not.
+     * The table is read and written without locking - a lost update only delays the retention of a command line.
+     */
+    private boolean isRecurrence(
+        final int hash
+    ) {
+        var index = (hash ^ (hash >>> 16)) & _recentMask;
+        if (_recentHashes[index] == hash) {
+            return true;
+        }
+        _recentHashes[index] = hash;
+        return false;
+    }
+
+    private Result lookup(
+        final Object key
+    ) {
+        var segment = segmentFor(key);
+        Result result;
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+
+        if (result != null) {
+            _hitCount.increment();
+        } else {
+            _missCount.increment();
+        }
+        return result;
+    }
+
+    private Result retain(
+        final Object key,
+        final Result result
+    ) {
+        var immutable = result.toImmutable();
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, immutable);
+        }
+        return immutable;
+    }
+
+    private Segment segmentFor(
+        final Object key
+    ) {
+        var hash = key.hashCode();
+        return _segments[(hash ^ (hash >>> 16)) & _segmentMask];
+    }
+}
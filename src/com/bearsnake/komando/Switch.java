@@ -8,6 +8,7 @@ import com.bearsnake.komando.values.CommandValue;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Switch implements Comparable<Switch> {
 
@@ -16,6 +17,11 @@ public abstract class Switch implements Comparable<Switch> {
     public final String _longName;
     public final String[] _description;
 
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(0);
+
+    // Identifies this switch for hashing - assigned once, since a switch may belong to any number of configurations
+    final int _id = NEXT_ID.getAndIncrement();
+
     public Switch(
         final String shortName,
         final String longName,
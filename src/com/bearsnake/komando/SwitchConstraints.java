@@ -0,0 +1,285 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.messages.Message;
+import com.bearsnake.komando.messages.MessageCode;
+import com.bearsnake.komando.messages.MessageType;
+import com.bearsnake.komando.messages.SwitchMessage;
+import com.bearsnake.komando.values.CommandValue;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The switch-related validation rules of a CommandLineParser, compiled into bit masks.
+ * Every switch known to the parser has an ordinal, and the switches specified on a command line are
+ * recorded in a long[] bit set indexed by those ordinals. The required switches, requirement sets,
+ * dependencies and exclusions are compiled into masks over that same bit set, once for each possible
+ * command selection, so that validating a command line takes a handful of word-wise AND/OR operations
+ * rather than a map lookup (and an affinity search) for every rule.
+ */
+class SwitchConstraints {
+
+    /**
+     * The compiled rules which apply for one particular command selection
+     */
+    private static class Plan {
+
+        private final CommandValue _command;
+        private final long[] _applicable;
+        private final long[] _required;
+        private long[][] _requirementSets;
+        private final long[] _dependencySubjects;
+        private final long[][] _dependencies;
+        private final long[] _exclusionSubjects;
+        private final long[][] _exclusions;
+
+        private Plan(
+            final CommandValue command,
+            final int wordCount,
+            final int switchCount
+        ) {
+            _command = command;
+            _applicable = new long[wordCount];
+            _required = new long[wordCount];
+            _dependencySubjects = new long[wordCount];
+            _dependencies = new long[switchCount][];
+            _exclusionSubjects = new long[wordCount];
+            _exclusions = new long[switchCount][];
+        }
+    }
+
+    private final Switch[] _switches;
+    private final int _wordCount;
+
+    // Plan for each command selection - index 0 is for no selected command, index n+1 is for the command
+    // at index n of the command argument.
+    private final Plan[] _plans;
+
+    /**
+     * Compiles the rules for a parser
+     * @param switches all the switches which the parser knows about, indexed by ordinal
+     * @param ordinals maps each switch to its ordinal
+     * @param requiredCount the first requiredCount switches are the ones registered with the handler -
+     *                      these are the only ones for which the required flag is honored
+     * @param commandArgument the command argument, null if there is none
+     * @param dependencies switch dependencies
+     * @param exclusions mutual exclusions
+     * @param requirementSets requirement sets
+     */
+    SwitchConstraints(
+        final Switch[] switches,
+        final Map<Switch, Integer> ordinals,
+        final int requiredCount,
+        final CommandArgument commandArgument,
+        final List<CommandLineHandler.SwitchDependency> dependencies,
+        final List<CommandLineHandler.SwitchPair> exclusions,
+        final List<CommandLineHandler.RequirementSet> requirementSets
+    ) {
+        _switches = switches;
+        _wordCount = wordCount(switches.length);
+
+        var commands = (commandArgument == null) ? new CommandValue[0] : commandArgument.getCommandValues();
+        _plans = new Plan[commands.length + 1];
+        for (var px = 0; px < _plans.length; ++px) {
+            var command = (px == 0) ? null : commands[px - 1];
+            var plan = new Plan(command, _wordCount, switches.length);
+
+            for (var ordinal = 0; ordinal < switches.length; ++ordinal) {
+                var sw = switches[ordinal];
+                if (isApplicable(commandArgument, command, sw)) {
+                    set(plan._applicable, ordinal);
+                    if ((ordinal < requiredCount) && sw.isRequired()) {
+                        set(plan._required, ordinal);
+                    }
+                }
+            }
+
+            for (var dep : dependencies) {
+                var subject = ordinals.get(dep._subject);
+                var dependency = ordinals.get(dep._dependency);
+                if (isSet(plan._applicable, subject) && isSet(plan._applicable, dependency)) {
+                    set(plan._dependencySubjects, subject);
+                    if (plan._dependencies[subject] == null) {
+                        plan._dependencies[subject] = new long[_wordCount];
+                    }
+                    set(plan._dependencies[subject], dependency);
+                }
+            }
+
+            for (var ex : exclusions) {
+                var switch1 = ordinals.get(ex._switch1);
+                var switch2 = ordinals.get(ex._switch2);
+                if (isSet(plan._applicable, switch1) && isSet(plan._applicable, switch2)) {
+                    set(plan._exclusionSubjects, switch1);
+                    if (plan._exclusions[switch1] == null) {
+                        plan._exclusions[switch1] = new long[_wordCount];
+                    }
+                    set(plan._exclusions[switch1], switch2);
+                }
+            }
+
+            var sets = new LinkedList<long[]>();
+            for (var reqSet : requirementSets) {
+                if ((reqSet._command == null) || reqSet._command.equals(command)) {
+                    var mask = new long[_wordCount];
+                    for (var sw : reqSet._switches) {
+                        set(mask, ordinals.get(sw));
+                    }
+                    sets.add(mask);
+                }
+            }
+
+            plan._requirementSets = sets.toArray(new long[0][]);
+            _plans[px] = plan;
+        }
+    }
+
+    /**
+     * Checks the switches specified in the given context against the rules for the chosen command,
+     * adding any resulting messages to the context.
+     */
+    void evaluate(
+        final ParseContext ctx
+    ) {
+        var plan = _plans[ctx._chosenCommandIndex + 1];
+        var specified = ctx._specified;
+        var messages = ctx._messages;
+
+        // Ensure that all required switches were specified. This does not apply if there was a command argument,
+        // and the otherwise-required switch does not have affinity with the given command.
+        for (var wx = 0; wx < _wordCount; ++wx) {
+            var missing = plan._required[wx] & ~specified[wx];
+            while (missing != 0) {
+                var sw = _switches[ordinal(wx, missing)];
+                messages.add(new SwitchMessage(MessageType.ERROR, sw, MessageCode.REQUIRED_NOT_SPECIFIED));
+                missing &= missing - 1;
+            }
+        }
+
+        for (var mask : plan._requirementSets) {
+            if (!intersects(mask, specified)) {
+                var switches = new LinkedList<Switch>();
+                for (var wx = 0; wx < _wordCount; ++wx) {
+                    for (var bits = mask[wx]; bits != 0; bits &= bits - 1) {
+                        switches.add(_switches[ordinal(wx, bits)]);
+                    }
+                }
+                messages.add(new Message(MessageType.ERROR, MessageCode.REQUIREMENT_SET_NOT_SATISFIED, switches.toArray()));
+            }
+        }
+
+        if (plan._command != null) {
+            for (var wx = 0; wx < _wordCount; ++wx) {
+                var inapplicable = specified[wx] & ~plan._applicable[wx];
+                while (inapplicable != 0) {
+                    var sw = _switches[ordinal(wx, inapplicable)];
+                    var command = plan._command.getValue();
+                    messages.add(new SwitchMessage(MessageType.WARNING, sw, MessageCode.NOT_APPLICABLE_TO_COMMAND, command));
+                    inapplicable &= inapplicable - 1;
+                }
+            }
+        }
+
+        // Check for switch dependencies.
+        if (intersects(plan._dependencySubjects, specified)) {
+            for (var wx = 0; wx < _wordCount; ++wx) {
+                for (var subjects = plan._dependencySubjects[wx] & specified[wx]; subjects != 0; subjects &= subjects - 1) {
+                    var subject = ordinal(wx, subjects);
+                    var mask = plan._dependencies[subject];
+                    for (var mx = 0; mx < _wordCount; ++mx) {
+                        for (var missing = mask[mx] & ~specified[mx]; missing != 0; missing &= missing - 1) {
+                            var required = _switches[ordinal(mx, missing)];
+                            messages.add(new SwitchMessage(MessageType.ERROR, _switches[subject], MessageCode.REQUIRES_SWITCH, required));
+                        }
+                    }
+                }
+            }
+        }
+
+        // Check for switch exclusions
+        if (intersects(plan._exclusionSubjects, specified)) {
+            for (var wx = 0; wx < _wordCount; ++wx) {
+                for (var subjects = plan._exclusionSubjects[wx] & specified[wx]; subjects != 0; subjects &= subjects - 1) {
+                    var subject = ordinal(wx, subjects);
+                    var mask = plan._exclusions[subject];
+                    for (var mx = 0; mx < _wordCount; ++mx) {
+                        for (var both = mask[mx] & specified[mx]; both != 0; both &= both - 1) {
+                            var excluded = _switches[ordinal(mx, both)];
+                            messages.add(new SwitchMessage(MessageType.ERROR, _switches[subject], MessageCode.EXCLUDED_BY_SWITCH, excluded));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isApplicable(
+        final CommandArgument commandArgument,
+        final CommandValue command,
+        final Switch sw
+    ) {
+        // This switch does *not* apply if there is a command argument,
+        // and the switch has affinity with any commands, but not the chosen command.
+        return !((commandArgument != null) && sw.hasAffinity() && !sw.hasAffinityWith(command));
+    }
+
+    private static boolean intersects(
+        final long[] mask1,
+        final long[] mask2
+    ) {
+        for (var wx = 0; wx < mask1.length; ++wx) {
+            if ((mask1[wx] & mask2[wx]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ordinal corresponding to the lowest set bit in the given word
+     */
+    static int ordinal(
+        final int wordIndex,
+        final long bits
+    ) {
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    static boolean isSet(
+        final long[] mask,
+        final int ordinal
+    ) {
+        return (ordinal >= 0) && ((mask[ordinal >> 6] & (1L << ordinal)) != 0);
+    }
+
+    static void set(
+        final long[] mask,
+        final int ordinal
+    ) {
+        mask[ordinal >> 6] |= 1L << ordinal;
+    }
+
+    /**
+     * Returns the number of set bits in the given mask
+     */
+    static int count(
+        final long[] mask
+    ) {
+        var count = 0;
+        for (var word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static int wordCount(
+        final int switchCount
+    ) {
+        return (switchCount + 63) >> 6;
+    }
+}
@@ -0,0 +1,113 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import java.util.function.Function;
+
+/**
+ * An immutable open-addressing hash table which maps switch names to switch ordinals.
+ * Lookups are done directly against a region of the command line text, so that we do not have to
+ * create a substring for every switch token just to find out which switch it names.
+ */
+class SwitchIndex {
+
+    private final String[] _keys;
+    private final int[] _ordinals;
+    private final int _mask;
+
+    /**
+     * Builds the index from the given switches.
+     * If two switches have the same name, the first one wins - this matches the behavior of the linear search
+     * which this index replaces.
+     * @param switches switches to be indexed, in ordinal order
+     * @param count number of switches (starting with ordinal zero) to be indexed
+     * @param nameFunction retrieves the name (short or long) by which a switch is to be indexed - may return null
+     */
+    SwitchIndex(
+        final Switch[] switches,
+        final int count,
+        final Function<Switch, String> nameFunction
+    ) {
+        // Keep the table no more than half full, so that probe sequences remain short.
+        var capacity = 2;
+        while (capacity < 2 * count) {
+            capacity <<= 1;
+        }
+
+        _keys = new String[capacity];
+        _ordinals = new int[capacity];
+        _mask = capacity - 1;
+
+        for (var ordinal = 0; ordinal < count; ++ordinal) {
+            var name = nameFunction.apply(switches[ordinal]);
+            if (name != null) {
+                var slot = hash(name, 0, name.length()) & _mask;
+                while ((_keys[slot] != null) && !_keys[slot].equals(name)) {
+                    slot = (slot + 1) & _mask;
+                }
+
+                if (_keys[slot] == null) {
+                    _keys[slot] = name;
+                    _ordinals[slot] = ordinal;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the ordinal of the switch whose name matches the given region of text
+     * @param text text containing the name
+     * @param start index of the first character of the name
+     * @param end index one past the last character of the name
+     * @return the ordinal of the switch, or -1 if there is no switch with that name
+     */
+    int find(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        var length = end - start;
+        var slot = hash(text, start, end) & _mask;
+        while (true) {
+            var key = _keys[slot];
+            if (key == null) {
+                return -1;
+            }
+
+            if (key.length() == length && regionMatches(key, text, start)) {
+                return _ordinals[slot];
+            }
+
+            slot = (slot + 1) & _mask;
+        }
+    }
+
+    private static int hash(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        var h = 0;
+        for (var ix = start; ix < end; ++ix) {
+            h = 31 * h + text.charAt(ix);
+        }
+
+        // spread the high bits downward, since we only use the low bits to select a slot
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean regionMatches(
+        final String key,
+        final CharSequence text,
+        final int start
+    ) {
+        for (var ix = 0; ix < key.length(); ++ix) {
+            if (key.charAt(ix) != text.charAt(start + ix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,93 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+/**
+ * An immutable open-addressing hash table which maps switches to their ordinals within a frozen configuration.
+ * The same switch may have different ordinals in different configurations - the canonical help and version
+ * switches are shared by all of them - so each configuration has its own table. Switches are hashed by the id
+ * which each is given at construction, which is cheaper than an identity hash.
+ */
+class SwitchOrdinals {
+
+    private final Switch[] _switches;
+    private final Switch[] _keys;
+    private final int[] _ordinals;
+    private final int _mask;
+    private final int _helpOrdinal;
+    private final int _versionOrdinal;
+
+    /**
+     * @param switches the switches, indexed by ordinal - there must not be any duplicates
+     */
+    SwitchOrdinals(
+        final Switch[] switches
+    ) {
+        _switches = switches;
+
+        // Keep the table no more than half full, so that probe sequences remain short.
+        var capacity = 2;
+        while (capacity < 2 * switches.length) {
+            capacity <<= 1;
+        }
+
+        _keys = new Switch[capacity];
+        _ordinals = new int[capacity];
+        _mask = capacity - 1;
+
+        for (var ordinal = 0; ordinal < switches.length; ++ordinal) {
+            var slot = hash(switches[ordinal]) & _mask;
+            while (_keys[slot] != null) {
+                slot = (slot + 1) & _mask;
+            }
+            _keys[slot] = switches[ordinal];
+            _ordinals[slot] = ordinal;
+        }
+
+        _helpOrdinal = find(CommandLineHandler.HELP_SWITCH);
+        _versionOrdinal = find(CommandLineHandler.VERSION_SWITCH);
+    }
+
+    int getCount() { return _switches.length; }
+    int getHelpOrdinal() { return _helpOrdinal; }
+    int getVersionOrdinal() { return _versionOrdinal; }
+
+    Switch getSwitch(
+        final int ordinal
+    ) {
+        return _switches[ordinal];
+    }
+
+    /**
+     * Finds the ordinal of a switch
+     * @return the ordinal, or -1 if the switch is not part of the configuration (or is null)
+     */
+    int find(
+        final Object swch
+    ) {
+        if (!(swch instanceof Switch sw)) {
+            return -1;
+        }
+
+        var slot = hash(sw) & _mask;
+        Switch key;
+        while ((key = _keys[slot]) != null) {
+            if (key == swch) {
+                return _ordinals[slot];
+            }
+            slot = (slot + 1) & _mask;
+        }
+        return -1;
+    }
+
+    private static int hash(
+        final Switch swch
+    ) {
+        // Fibonacci hashing, with the high bits folded down - ids which are close together or evenly spaced
+        // are spread over the table
+        var hash = swch._id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
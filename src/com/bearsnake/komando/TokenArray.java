@@ -0,0 +1,47 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+/**
+ * Supplies command line tokens from an array which has already been split into tokens
+ */
+class TokenArray implements TokenSource {
+
+    private String[] _tokens;
+    private int _index;
+    private String _error;
+
+    TokenArray() {}
+
+    TokenArray(
+        final String[] tokens,
+        final String error
+    ) {
+        reset(tokens, error);
+    }
+
+    /**
+     * Prepares to supply the given tokens
+     * @param tokens the tokens
+     * @param error description of any problem found while the tokens were split out, else null
+     */
+    void reset(
+        final String[] tokens,
+        final String error
+    ) {
+        _tokens = tokens;
+        _index = 0;
+        _error = error;
+    }
+
+    @Override
+    public boolean hasNext() { return _index < _tokens.length; }
+
+    @Override
+    public String next() { return _tokens[_index++]; }
+
+    @Override
+    public String getError() { return _error; }
+}
@@ -0,0 +1,24 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+/**
+ * Supplies command line tokens to the parser, one at a time
+ */
+interface TokenSource {
+
+    boolean hasNext();
+
+    /**
+     * Produces the next token. hasNext() must have been invoked (and returned true) beforehand.
+     */
+    String next();
+
+    /**
+     * Describes the problem with the text from which the tokens come, if any, found so far
+     * @return description of the problem, or null if no problem has been found
+     */
+    String getError();
+}
@@ -0,0 +1,179 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.values.CommandValue;
+import com.bearsnake.komando.values.StringValue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The usage text for a frozen configuration. The text is rendered once, when the instance is created,
+ * and may then be written any number of times - each time with a single call on the destination.
+ * Instances are obtained from CommandLineParser.getUsage(), which caches them.
+ */
+public final class Usage {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final String _text;
+
+    // The text encoded in the default charset, for channels - produced the first time it is needed
+    private volatile byte[] _bytes = null;
+
+    private Usage(
+        final String text
+    ) {
+        _text = text;
+    }
+
+    /**
+     * Writes the usage text to an Appendable
+     */
+    public void writeTo(
+        final Appendable destination
+    ) throws IOException {
+        destination.append(_text);
+    }
+
+    /**
+     * Writes the usage text to a PrintStream, encoded in the stream's own charset, and flushes the stream
+     */
+    public void writeTo(
+        final PrintStream destination
+    ) {
+        destination.print(_text);
+        destination.flush();
+    }
+
+    /**
+     * Writes the usage text to a channel, encoded in the default charset
+     */
+    public void writeTo(
+        final WritableByteChannel destination
+    ) throws IOException {
+        var buffer = ByteBuffer.wrap(getBytes());
+        while (buffer.hasRemaining()) {
+            destination.write(buffer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return _text;
+    }
+
+    private byte[] getBytes() {
+        var bytes = _bytes;
+        if (bytes == null) {
+            bytes = _text.getBytes(Charset.defaultCharset());
+            _bytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Renders the usage text for a configuration
+     * @param programName name of the program, for the synopsis
+     * @param commandArgument the command argument, or null if there is none
+     * @param switches the registered switches, in order of registration
+     * @param positionalArguments the positional arguments
+     * @param command if not null, the text is limited to this command - the switches which do not apply to it
+     *                are left out, and the command appears in the synopsis in place of the choice of commands
+     */
+    static Usage render(
+        final String programName,
+        final CommandArgument commandArgument,
+        final List<Switch> switches,
+        final List<PositionalArgument> positionalArguments,
+        final CommandValue command
+    ) {
+        var sb = new StringBuilder();
+        sb.append("Usage:").append(NEWLINE);
+
+        sb.append("  ").append(programName);
+        if (!switches.isEmpty()) {
+            sb.append(" {switches}");
+        }
+
+        if (commandArgument != null) {
+            sb.append(" ").append(command == null ? "command" : command.getValue());
+        }
+
+        for (var posArg : positionalArguments) {
+            sb.append(" ")
+              .append(posArg.isRequired() ? "" : "[")
+              .append("{")
+              .append(posArg.getValueName())
+              .append("}").append(posArg.isVariadic() ? "..." : "").append(posArg.isRequired() ? "" : "]");
+        }
+        sb.append(NEWLINE);
+
+        var applicable = (command == null)
+            ? switches
+            : switches.stream().filter(sw -> sw._affinity.isEmpty() || sw._affinity.contains(command)).toList();
+        if (!applicable.isEmpty()) {
+            sb.append(NEWLINE);
+            sb.append("switches:").append(NEWLINE);
+            for (var sw : applicable) {
+                sb.append("  ").append(sw.toString());
+
+                if (sw instanceof ArgumentSwitch as) {
+                    sb.append(" {").append(as.getValueName()).append("}");
+                    if (as.isMultiple()) {
+                        sb.append(",...");
+                    }
+
+                    sb.append("  ");
+                    sb.append(as.isRequired() ? "(required)" : "(optional)");
+                }
+                sb.append(NEWLINE);
+
+                if (!sw._affinity.isEmpty()) {
+                    sb.append("    Only applies to command(s): ");
+                    sb.append(sw._affinity.stream().map(StringValue::getValue).collect(Collectors.joining(", ")));
+                    sb.append(NEWLINE);
+                }
+
+                for (var desc : sw._description) {
+                    sb.append("    ").append(desc).append(NEWLINE);
+                }
+            }
+        }
+
+        if (commandArgument != null) {
+            sb.append(NEWLINE);
+            sb.append("command ")
+              .append(command == null ? commandArgument.getChoicesString() : command.getValue())
+              .append(NEWLINE);
+
+            for (var desc : commandArgument.getDescription()) {
+                sb.append("  ").append(desc).append(NEWLINE);
+            }
+        }
+
+        for (var posArg : positionalArguments) {
+            sb.append(NEWLINE);
+            sb.append(posArg.getValueName())
+              .append(" (")
+              .append(posArg.getValueType().name().toLowerCase())
+              .append(")")
+              .append(posArg.hasRestriction() ? posArg.getRestriction().toString() : "")
+              .append(NEWLINE);
+
+            for (var desc : posArg.getDescription()) {
+                sb.append("  ").append(desc).append(NEWLINE);
+            }
+        }
+
+        return new Usage(sb.toString());
+    }
+}
@@ -0,0 +1,171 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.values.ParseStatus;
+import com.bearsnake.komando.values.ValueList;
+
+import java.util.Arrays;
+
+/**
+ * Splits the comma-separated value list of an argument switch in a single pass.
+ * Nothing is copied while scanning - we only record where each element begins and ends within the original
+ * text, and whether it contains any quoted sections. Delimiters inside single- or double-quoted sections are
+ * not treated as delimiters, and the quote characters themselves are not part of the resulting values.
+ * Elements are only turned into Strings (or typed values) when they are asked for.
+ * An instance is reused for each switch of a parse, so it is not thread-safe.
+ */
+class ValueScanner {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private CharSequence _text;
+    private int _count;
+    private int[] _starts = new int[INITIAL_CAPACITY];
+    private int[] _ends = new int[INITIAL_CAPACITY];
+    private boolean[] _quoted = new boolean[INITIAL_CAPACITY];
+    private boolean _unterminated;
+
+    /**
+     * Scans a region of text, recording the elements which are separated by unquoted commas.
+     * Any previous results are discarded.
+     * @param text text containing the value list
+     * @param start index of the first character of the value list
+     * @param end index one past the last character of the value list
+     */
+    void scan(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        _text = text;
+        _count = 0;
+
+        char quoteChar = 0;
+        var quoted = false;
+        var elementStart = start;
+        for (var ix = start; ix < end; ++ix) {
+            var ch = text.charAt(ix);
+            if (quoteChar != 0) {
+                // we are inside a quoted section
+                if (ch == quoteChar) {
+                    quoteChar = 0;
+                }
+            } else if ((ch == '\'') || (ch == '"')) {
+                quoteChar = ch;
+                quoted = true;
+            } else if (ch == ',') {
+                add(elementStart, ix, quoted);
+                elementStart = ix + 1;
+                quoted = false;
+            }
+        }
+
+        add(elementStart, end, quoted);
+        _unterminated = (quoteChar != 0);
+    }
+
+    int getCount() { return _count; }
+
+    CharSequence getText() { return _text; }
+    int getStart(int index) { return _starts[index]; }
+    int getEnd(int index) { return _ends[index]; }
+    boolean isQuoted(int index) { return _quoted[index]; }
+
+    /**
+     * Indicates whether the most recently scanned text ended in the middle of a quoted section
+     */
+    boolean isUnterminated() { return _unterminated; }
+
+    /**
+     * Produces the text of an element, with quote characters removed
+     */
+    String getString(
+        final int index
+    ) {
+        var start = _starts[index];
+        var end = _ends[index];
+        if (!_quoted[index]) {
+            return _text.subSequence(start, end).toString();
+        }
+
+        var sb = new StringBuilder(end - start);
+        char quoteChar = 0;
+        for (var ix = start; ix < end; ++ix) {
+            var ch = _text.charAt(ix);
+            if (quoteChar != 0) {
+                if (ch == quoteChar) {
+                    quoteChar = 0;
+                } else {
+                    sb.append(ch);
+                }
+            } else if ((ch == '\'') || (ch == '"')) {
+                quoteChar = ch;
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converts an element and appends it to a value list.
+     * Unquoted elements are converted directly from the scanned text.
+     * @return the outcome of the conversion - the element is only appended if it is OK
+     */
+    ParseStatus tryAddTo(
+        final int index,
+        final ValueList.Builder builder
+    ) {
+        if (_quoted[index]) {
+            var str = getString(index);
+            return builder.tryAdd(str, 0, str.length());
+        } else {
+            return builder.tryAdd(_text, _starts[index], _ends[index]);
+        }
+    }
+
+    private void add(
+        final int start,
+        final int end,
+        final boolean quoted
+    ) {
+        if (_count == _starts.length) {
+            var capacity = 2 * _count;
+            _starts = Arrays.copyOf(_starts, capacity);
+            _ends = Arrays.copyOf(_ends, capacity);
+            _quoted = Arrays.copyOf(_quoted, capacity);
+        }
+
+        _starts[_count] = start;
+        _ends[_count] = end;
+        _quoted[_count] = quoted;
+        _count++;
+    }
+
+    /**
+     * Finds the first occurrence of a character which is not within a quoted section
+     * @return index of the character, or -1 if it does not appear outside a quoted section
+     */
+    static int indexOfUnquoted(
+        final CharSequence text,
+        final char target
+    ) {
+        char quoteChar = 0;
+        for (var ix = 0; ix < text.length(); ++ix) {
+            var ch = text.charAt(ix);
+            if (quoteChar != 0) {
+                if (ch == quoteChar) {
+                    quoteChar = 0;
+                }
+            } else if ((ch == '\'') || (ch == '"')) {
+                quoteChar = ch;
+            } else if (ch == target) {
+                return ix;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,140 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando;
+
+import com.bearsnake.komando.values.ValueType;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Synthetic command lines for CommandLineParser.warmUp(), made up from the parser's own configuration,
+ * and the background thread which parses them.
+ */
+final class WarmUp {
+
+    static final int DEFAULT_ITERATIONS = 20000;
+    static final String THREAD_NAME = "komando-warm-up";
+
+    // Each variant specifies every switch, in its short or long form, with its values in the same token or the next -
+    // so that between them the variants cover both forms of each. The last variant also has mistakes in it.
+    private static final int VARIANTS = 4;
+
+    private WarmUp() {}
+
+    /**
+     * Makes up the argument vectors
+     */
+    static String[][] createArgumentSets(
+        final CommandArgument commandArgument,
+        final List<Switch> switches,
+        final List<PositionalArgument> positionalArguments
+    ) {
+        var argumentSets = new String[VARIANTS][];
+        for (var vx = 0; vx < VARIANTS; ++vx) {
+            var args = new LinkedList<String>();
+            if (commandArgument != null) {
+                var commands = commandArgument.getCommandValues();
+                args.add(commands[vx % commands.length].getValue());
+            }
+
+            var sx = 0;
+            for (var sw : switches) {
+                // The canonical help and version switches would cut the parse short
+                if ((sw != CommandLineHandler.HELP_SWITCH) && (sw != CommandLineHandler.VERSION_SWITCH)) {
+                    var name = (((sx + vx) & 01) == 0) || (sw._longName == null) ? "-" + sw._shortName : "--" + sw._longName;
+                    if (sw instanceof ArgumentSwitch asw) {
+                        var value = asw.isMultiple()
+                            ? sampleValue(asw.getValueType(), vx) + "," + sampleValue(asw.getValueType(), vx + 1)
+                            : sampleValue(asw.getValueType(), vx);
+                        if (((sx + vx) & 02) == 0) {
+                            args.add(name + "=" + value);
+                        } else {
+                            args.add(name);
+                            args.add(value);
+                        }
+                    } else {
+                        args.add(name);
+                    }
+                }
+                sx++;
+            }
+
+            for (var posArg : positionalArguments) {
+                args.add(sampleValue(posArg.getValueType(), vx));
+                if (posArg.isVariadic()) {
+                    args.add(sampleValue(posArg.getValueType(), vx + 1));
+                }
+            }
+
+            if (vx == VARIANTS - 1) {
+                args.add("--no-such-switch");
+                args.add("extraneous");
+            }
+
+            argumentSets[vx] = args.toArray(new String[0]);
+        }
+        return argumentSets;
+    }
+
+    /**
+     * Makes up the whole command lines equivalent to the argument vectors
+     */
+    static String[] createCommandLines(
+        final String[][] argumentSets
+    ) {
+        var commandLines = new String[argumentSets.length];
+        for (var ax = 0; ax < argumentSets.length; ++ax) {
+            var sb = new StringBuilder();
+            for (var arg : argumentSets[ax]) {
+                if (!sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                if (arg.chars().allMatch(ch -> Character.isLetterOrDigit(ch) || "-=,.".indexOf(ch) >= 0)) {
+                    sb.append(arg);
+                } else {
+                    sb.append('\'').append(arg.replace("'", "'\\''")).append('\'');
+                }
+            }
+            commandLines[ax] = sb.toString();
+        }
+        return commandLines;
+    }
+
+    private static String sampleValue(
+        final ValueType valueType,
+        final int variant
+    ) {
+        var even = (variant & 01) == 0;
+        return switch (valueType) {
+            case BOOLEAN -> even ? "true" : "off";
+            case FIXED_POINT -> even ? "42" : "0x1F";
+            case FLOATING_POINT -> even ? "1.5" : "-2.5e3";
+            case STRING -> even ? "text" : "other.text";
+        };
+    }
+
+    /**
+     * Runs the warm-up on a daemon thread
+     * @return a future which completes when the warm-up is done
+     */
+    static CompletableFuture<Void> start(
+        final Runnable warmUp
+    ) {
+        var future = new CompletableFuture<Void>();
+        var thread = new Thread(() -> {
+            try {
+                warmUp.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+}
@@ -0,0 +1,43 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class or record whose fields (or components) are annotated with Option, Flag and Positional,
+ * so that the annotation processor generates a parser for it at compile time.
+ * The parser is a class in the same package, named for the options type with "Parser" appended
+ * (for a nested type, the enclosing type names are joined with underscores). It has two static methods:
+ * parse(String...), which produces a Binding of the options with the same messages which a CommandLineHandler
+ * would produce for the same specification - without building that specification, without creating Values,
+ * and without any reflection; and createHandler(), which builds the equivalent CommandLineHandler, for usage text.
+ * A class must have a non-private no-argument constructor, and its annotated fields must be neither private
+ * nor final; options which are not specified keep the values given by the constructor.
+ * For a record, options which are not specified are zero, false, null, or an empty list.
+ * Up to 64 switches are supported.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface CommandLineOptions {
+
+    /**
+     * The simple name of the generated parser, if the default is not wanted
+     */
+    String parserName() default "";
+
+    /**
+     * Recognizes -h/--help, as CommandLineHandler.addCanonicalHelpSwitch() does
+     */
+    boolean helpSwitch() default false;
+
+    /**
+     * Recognizes -v/--version, as CommandLineHandler.addCanonicalVersionSwitch() does
+     */
+    boolean versionSwitch() default false;
+}
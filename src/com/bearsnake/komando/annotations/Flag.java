@@ -0,0 +1,34 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a SimpleSwitch to a boolean field, which is set to true if the switch is specified.
+ * Switch names are given without their leading hyphens.
+ * Dependencies and exclusions name other annotated fields of the same options type.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Flag {
+
+    String shortName();
+    String longName() default "";
+    String[] description();
+
+    /**
+     * The fields whose switches must also be specified if this one is - see CommandLineHandler.addDependency()
+     */
+    String[] requires() default {};
+
+    /**
+     * The fields whose switches may not be specified if this one is - see CommandLineHandler.addMutualExclusion()
+     */
+    String[] excludes() default {};
+}
@@ -0,0 +1,42 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an ArgumentSwitch to a field. The value type follows from the type of the field - boolean, int, long,
+ * double, their boxed forms, or String - and a List of one of the boxed types (or String) makes the switch
+ * multiply-valued. Switch names are given without their leading hyphens.
+ * Dependencies and exclusions name other annotated fields of the same options type.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Option {
+
+    String shortName();
+    String longName() default "";
+    String[] description();
+
+    /**
+     * The name of the value in usage text - the name of the field, if not given
+     */
+    String valueName() default "";
+
+    boolean required() default false;
+
+    /**
+     * The fields whose switches must also be specified if this one is - see CommandLineHandler.addDependency()
+     */
+    String[] requires() default {};
+
+    /**
+     * The fields whose switches may not be specified if this one is - see CommandLineHandler.addMutualExclusion()
+     */
+    String[] excludes() default {};
+}
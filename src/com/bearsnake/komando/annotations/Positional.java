@@ -0,0 +1,29 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a PositionalArgument to a field. Positional arguments are taken in the order in which their fields
+ * are declared. The value type follows from the type of the field, as for Option - and a List makes the argument
+ * variadic, in which case it must be the last positional argument.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Positional {
+
+    String[] description();
+
+    /**
+     * The name of the argument in usage text and messages - the name of the field, if not given
+     */
+    String valueName() default "";
+
+    boolean required() default false;
+}
@@ -0,0 +1,36 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Records the checking of a command line against the required arguments and switches,
+ * requirement sets, command affinities, dependencies, and exclusions
+ */
+@Name("com.bearsnake.komando.ConstraintValidation")
+@Label("Constraint Validation")
+@Category("Komando")
+@Description("Checking of the constraints among switches and arguments")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class ConstraintValidationEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Switches Specified")
+    public int switchCount;
+
+    @Label("Violations")
+    @Description("Number of messages produced by the validation")
+    public int violationCount;
+}
@@ -0,0 +1,44 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Records the processing of one command line, from the first token to the Result.
+ */
+@Name("com.bearsnake.komando.Parse")
+@Label("Command Line Parse")
+@Category("Komando")
+@Description("Processing of one command line")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class ParseEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Tokens")
+    @Description("Number of tokens, including those read from argument files")
+    public int tokenCount;
+
+    @Label("Switches Specified")
+    public int switchCount;
+
+    @Label("Positional Arguments")
+    public int positionalCount;
+
+    @Label("Errors")
+    public int errorCount;
+
+    @Label("Warnings")
+    public int warningCount;
+}
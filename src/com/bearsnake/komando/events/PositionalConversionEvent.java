@@ -0,0 +1,38 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Records the conversion and checking of the value of one positional argument
+ * There is one of these events for every positional argument value, so they are disabled by default.
+ */
+@Name("com.bearsnake.komando.PositionalConversion")
+@Label("Positional Conversion")
+@Category("Komando")
+@Description("Conversion of one positional argument value")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("1 ms")
+public final class PositionalConversionEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Argument")
+    @Description("Value name of the positional argument")
+    public String argument;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,36 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a value which was rejected by the restriction of its switch or positional argument
+ */
+@Name("com.bearsnake.komando.RestrictionFailure")
+@Label("Restriction Failure")
+@Category("Komando")
+@Description("A value rejected by a restriction")
+@StackTrace(false)
+public final class RestrictionFailureEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Argument")
+    @Description("The switch or positional argument to which the value was given")
+    public String argument;
+
+    @Label("Value")
+    public String value;
+
+    @Label("Restriction")
+    public String restriction;
+}
@@ -0,0 +1,39 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Records the processing of one switch token - looking up the switch and, for an ArgumentSwitch,
+ * converting and checking its values.
+ * There is one of these events for every switch token, so they are disabled by default.
+ */
+@Name("com.bearsnake.komando.SwitchProcessing")
+@Label("Switch Processing")
+@Category("Komando")
+@Description("Lookup of one switch, and conversion of its values")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("1 ms")
+public final class SwitchProcessingEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Switch")
+    @Description("The switch as it was given, without any values")
+    public String switchName;
+
+    @Label("Recognized")
+    public boolean recognized;
+}
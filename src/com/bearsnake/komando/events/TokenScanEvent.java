@@ -0,0 +1,41 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Records the scanning of one token - taking it from the argument array, splitting it from the command line text,
+ * or reading it from an argument file.
+ * There is one of these events for every token, so they are disabled by default.
+ */
+@Name("com.bearsnake.komando.TokenScan")
+@Label("Token Scan")
+@Category("Komando")
+@Description("Scanning of one command line token")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("1 ms")
+public final class TokenScanEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Token Index")
+    @Description("Position of the token among all the tokens of the command line")
+    public int tokenIndex;
+
+    @Label("Token Length")
+    @DataAmount(DataAmount.BYTES)
+    public int tokenLength;
+}
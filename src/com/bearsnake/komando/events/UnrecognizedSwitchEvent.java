@@ -0,0 +1,29 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records a token which looked like a switch, but named none of the switches of the spec
+ */
+@Name("com.bearsnake.komando.UnrecognizedSwitch")
+@Label("Unrecognized Switch")
+@Category("Komando")
+@Description("A token which names no known switch")
+@StackTrace(false)
+public final class UnrecognizedSwitchEvent extends jdk.jfr.Event {
+
+    @Label("Spec Id")
+    @Description("Identifies the CommandLineParser")
+    public long specId;
+
+    @Label("Token")
+    public String token;
+}
@@ -9,4 +9,10 @@ public class CommandArgumentException extends RuntimeException {
     public CommandArgumentException() {
         super("Only one CommandArgument may be specified");
     }
+
+    public CommandArgumentException(
+        final String message
+    ) {
+        super(message);
+    }
 }
@@ -0,0 +1,18 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.exceptions;
+
+/**
+ * Thrown when the values of a switch whose conversion was deferred turn out to be invalid
+ * at the time they are first accessed.
+ */
+public class InvalidValueException extends RuntimeException {
+
+    public InvalidValueException(
+        final String message
+    ) {
+        super(message);
+    }
+}
@@ -6,9 +6,11 @@ package com.bearsnake.komando.exceptions;
 
 public class ParseException extends KomandoException {
 
+    public static final String MESSAGE_PREFIX = "Cannot parse value:";
+
     public ParseException(
         final String message
     ) {
-        super("Cannot parse value:" + message);
+        super(MESSAGE_PREFIX + message);
     }
 }
@@ -0,0 +1,12 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.exceptions;
+
+public class PositionalArgumentException extends RuntimeException {
+
+    public PositionalArgumentException() {
+        super("No PositionalArgument may follow a variadic PositionalArgument");
+    }
+}
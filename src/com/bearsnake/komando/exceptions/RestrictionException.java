@@ -11,6 +11,15 @@ public class RestrictionException extends KomandoException {
     public RestrictionException(
         final Value value
     ) {
-        super(String.format("Restriction Violated:'%s' is not an acceptable value", value.toString()));
+        super(createMessage(value));
+    }
+
+    /**
+     * Produces the message which an instance would carry for the given value, without creating the instance
+     */
+    public static String createMessage(
+        final Value value
+    ) {
+        return String.format("Restriction Violated:'%s' is not an acceptable value", value.toString());
     }
 }
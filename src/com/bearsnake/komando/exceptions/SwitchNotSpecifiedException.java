@@ -0,0 +1,16 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.exceptions;
+
+import com.bearsnake.komando.Switch;
+
+public class SwitchNotSpecifiedException extends RuntimeException {
+
+    public SwitchNotSpecifiedException(
+        final Switch swch
+    ) {
+        super(String.format("Switch %s was not specified", swch.toString()));
+    }
+}
@@ -13,6 +13,14 @@ public class CommandArgumentMessage extends Message {
         super(messageType, message);
     }
 
+    public CommandArgumentMessage(
+        final MessageType messageType,
+        final MessageCode code,
+        final Object... arguments
+    ) {
+        super(messageType, code, arguments);
+    }
+
     @Override
     public String toString() {
         return String.format("%s:Command:%s",
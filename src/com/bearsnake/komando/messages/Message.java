@@ -4,21 +4,56 @@
 
 package com.bearsnake.komando.messages;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message produced while processing a command line. A message is a code plus the arguments which
+ * complete it - its text is only rendered the first time it is asked for, so that callers which only look
+ * at the message types (or codes) do not pay for formatting.
+ */
 public class Message {
 
-    private final String _message;
     private final MessageType _messageType;
+    private final MessageCode _code;
+    private final Object[] _arguments;
+
+    // The rendered text. Rendering is idempotent, so a thread which sees null just renders it again.
+    private String _message = null;
 
     public Message(
         final MessageType messageType,
         final String message
+    ) {
+        this(messageType, MessageCode.TEXT, message);
+    }
+
+    public Message(
+        final MessageType messageType,
+        final MessageCode code,
+        final Object... arguments
     ) {
         _messageType = messageType;
-        _message = message;
+        _code = code;
+        _arguments = arguments;
+    }
+
+    public final MessageCode getCode() {
+        return _code;
+    }
+
+    public final List<Object> getArguments() {
+        return Collections.unmodifiableList(Arrays.asList(_arguments));
     }
 
     public final String getMessage() {
-        return _message;
+        var message = _message;
+        if (message == null) {
+            message = _code.render(_arguments);
+            _message = message;
+        }
+        return message;
     }
 
     public final MessageType getProcessMessageType() {
@@ -27,6 +62,6 @@ public class Message {
 
     @Override
     public String toString() {
-        return String.format("%s:%s", _messageType._value, _message);
+        return String.format("%s:%s", _messageType._value, getMessage());
     }
 }
@@ -0,0 +1,103 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.messages;
+
+import com.bearsnake.komando.restrictions.Restriction;
+import com.bearsnake.komando.values.ParseStatus;
+import com.bearsnake.komando.values.Value;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the condition which a Message reports, so that callers can act upon messages without their text.
+ * Each code knows how to render the text of its messages from the arguments given with them - which is only
+ * done when the text is asked for.
+ */
+public enum MessageCode {
+
+    /**
+     * Free-form text, given as the only argument
+     */
+    TEXT(null) {
+        @Override
+        String render(
+            final Object[] arguments
+        ) {
+            return (String) arguments[0];
+        }
+    },
+
+    UNRECOGNIZED_SWITCH("Unrecognized Switch:%s"),
+    EXTRANEOUS_ARGUMENTS("Extraneous arguments are ignored"),
+    REQUIRED_NOT_SPECIFIED("Required but not specified"),
+    SPECIFIED_MORE_THAN_ONCE("Specified more than once"),
+    NO_VALUE_SPECIFIED("No value specified for switch"),
+    UNTERMINATED_VALUE("Missing closing delimiter in value"),
+    MULTIPLE_VALUES("Multiple values specified for singly-valued switch"),
+    INVALID_COMMAND("'%s' is not a valid command"),
+    NOT_APPLICABLE_TO_COMMAND("Switch does not apply to '%s' command"),
+    REQUIRES_SWITCH("Requires unspecified switch %s"),
+    EXCLUDED_BY_SWITCH("May not be specified with switch %s"),
+    LEXICAL_ERROR("%s in command line"),
+    ARGUMENT_FILE_LEXICAL_ERROR("%s in argument file:%s"),
+    ARGUMENT_FILE_CIRCULAR_REFERENCE("Circular reference to argument file:%s"),
+    ARGUMENT_FILE_UNREADABLE("Cannot read argument file:%s"),
+
+    /**
+     * Arguments are the switches, any one of which would have satisfied the requirement
+     */
+    REQUIREMENT_SET_NOT_SATISFIED("At least one of the following switches must be specified:%s") {
+        @Override
+        String render(
+            final Object[] arguments
+        ) {
+            var switches = Arrays.stream(arguments).map(Object::toString).collect(Collectors.joining(", "));
+            return super.render(new Object[] { switches });
+        }
+    },
+
+    /**
+     * Arguments are the ParseStatus of the failed conversion, and the text which could not be converted
+     */
+    INVALID_VALUE(null) {
+        @Override
+        String render(
+            final Object[] arguments
+        ) {
+            return ((ParseStatus) arguments[0]).getMessage((CharSequence) arguments[1]);
+        }
+    },
+
+    /**
+     * Arguments are the Restriction, and the Value which it does not accept
+     */
+    RESTRICTION_VIOLATED(null) {
+        @Override
+        String render(
+            final Object[] arguments
+        ) {
+            return ((Restriction) arguments[0]).describeViolation((Value) arguments[1]);
+        }
+    };
+
+    // The text of the message, in the form taken by String.format() - null if the code renders its text otherwise
+    private final String _pattern;
+
+    MessageCode(
+        final String pattern
+    ) {
+        _pattern = pattern;
+    }
+
+    /**
+     * Produces the text of a message with this code
+     */
+    String render(
+        final Object[] arguments
+    ) {
+        return (arguments.length == 0) ? _pattern : String.format(_pattern, arguments);
+    }
+}
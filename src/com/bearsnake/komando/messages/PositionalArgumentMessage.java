@@ -8,7 +8,7 @@ import com.bearsnake.komando.PositionalArgument;
 
 public class PositionalArgumentMessage extends Message {
 
-    private final PositionalArgument _arg;
+    private final String _valueName;
 
     public PositionalArgumentMessage(
         final MessageType messageType,
@@ -16,14 +16,37 @@ public class PositionalArgumentMessage extends Message {
         final String message
     ) {
         super(messageType, message);
-        _arg = arg;
+        _valueName = arg.getValueName();
+    }
+
+    public PositionalArgumentMessage(
+        final MessageType messageType,
+        final PositionalArgument arg,
+        final MessageCode code,
+        final Object... arguments
+    ) {
+        super(messageType, code, arguments);
+        _valueName = arg.getValueName();
+    }
+
+    /**
+     * For parsers generated from annotated options, which have no PositionalArgument objects
+     */
+    public PositionalArgumentMessage(
+        final MessageType messageType,
+        final String valueName,
+        final MessageCode code,
+        final Object... arguments
+    ) {
+        super(messageType, code, arguments);
+        _valueName = valueName;
     }
 
     @Override
     public String toString() {
         return String.format("%s:Positional Argument {%s}:%s",
                              getProcessMessageType(),
-                             _arg.getValueName(),
+                             _valueName,
                              getMessage());
     }
 }
@@ -8,7 +8,7 @@ import com.bearsnake.komando.Switch;
 
 public class SwitchMessage extends Message {
 
-    private final Switch _switch;
+    private final Object _switch; // the Switch - or, for a generated parser, the name by which it is displayed
 
     public SwitchMessage(
         final MessageType messageType,
@@ -19,6 +19,30 @@ public class SwitchMessage extends Message {
         _switch = swch;
     }
 
+    public SwitchMessage(
+        final MessageType messageType,
+        final Switch swch,
+        final MessageCode code,
+        final Object... arguments
+    ) {
+        super(messageType, code, arguments);
+        _switch = swch;
+    }
+
+    /**
+     * For parsers generated from annotated options, which have no Switch objects
+     * @param switchName the switch as Switch.toString() would give it, e.g. "-n/--count"
+     */
+    public SwitchMessage(
+        final MessageType messageType,
+        final String switchName,
+        final MessageCode code,
+        final Object... arguments
+    ) {
+        super(messageType, code, arguments);
+        _switch = switchName;
+    }
+
     @Override
     public String toString() {
         return String.format("%s:Switch %s:%s", getProcessMessageType(), _switch.toString(), getMessage());
@@ -0,0 +1,182 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.processor;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * What the processor has learned about one annotated options type - everything the ParserWriter needs
+ */
+class OptionsModel {
+
+    /**
+     * The types of value which an option or positional argument may have, with the names of the pieces
+     * of generated code which deal with each
+     */
+    enum ValueKind {
+        BOOLEAN("boolean", "Boolean", "BOOLEAN", "Boolean", "false"),
+        INT("int", "Integer", "FIXED_POINT", "Int", "0"),
+        LONG("long", "Long", "FIXED_POINT", "Long", "0L"),
+        DOUBLE("double", "Double", "FLOATING_POINT", "Double", "0.0"),
+        STRING(null, "String", "STRING", "String", "null");
+
+        final String _primitiveName;
+        final String _boxedName;
+        final String _valueType;
+        final String _conversion; // suffix of the BindingContext convert and get methods
+        final String _primitiveDefault;
+
+        ValueKind(
+            final String primitiveName,
+            final String boxedName,
+            final String valueType,
+            final String conversion,
+            final String primitiveDefault
+        ) {
+            _primitiveName = primitiveName;
+            _boxedName = boxedName;
+            _valueType = valueType;
+            _conversion = conversion;
+            _primitiveDefault = primitiveDefault;
+        }
+    }
+
+    /**
+     * A field (or record component) - annotated or not
+     */
+    static class Field {
+        final String _name;
+        final String _defaultValue; // for a record component which is not specified
+
+        Field(
+            final String name,
+            final String defaultValue
+        ) {
+            _name = name;
+            _defaultValue = defaultValue;
+        }
+    }
+
+    /**
+     * A field bound to a value - the value of a switch or a positional argument
+     */
+    static class ValueField extends Field {
+        final ValueKind _kind;
+        final boolean _primitive;
+        final boolean _list;
+        final String[] _description;
+        final String _valueName;
+        final boolean _required;
+
+        ValueField(
+            final String name,
+            final ValueKind kind,
+            final boolean primitive,
+            final boolean list,
+            final String[] description,
+            final String valueName,
+            final boolean required
+        ) {
+            super(name, list ? "java.util.List.of()" : (primitive ? kind._primitiveDefault : "null"));
+            _kind = kind;
+            _primitive = primitive;
+            _list = list;
+            _description = description;
+            _valueName = valueName;
+            _required = required;
+        }
+
+        /**
+         * The type of the local variable which accumulates the value
+         */
+        String getLocalType() {
+            if (_list) {
+                return "List<" + _kind._boxedName + ">";
+            }
+            return _primitive ? _kind._primitiveName : _kind._boxedName;
+        }
+    }
+
+    /**
+     * A switch, which is bound to a field unless it is one of the canonical help and version switches
+     */
+    static class SwitchField extends ValueField {
+        final int _bit;
+        final String _shortName;
+        final String _longName; // null if there is none
+        final boolean _flag;
+        final String[] _requires;
+        final String[] _excludes;
+        final List<SwitchField> _dependencies = new LinkedList<>(); // resolved from _requires, in bit order
+        final List<SwitchField> _exclusions = new LinkedList<>(); // resolved from _excludes, in bit order
+
+        SwitchField(
+            final String name,
+            final int bit,
+            final String shortName,
+            final String longName,
+            final boolean flag,
+            final ValueKind kind,
+            final boolean primitive,
+            final boolean list,
+            final String[] description,
+            final String valueName,
+            final boolean required,
+            final String[] requires,
+            final String[] excludes
+        ) {
+            super(name, kind, primitive, list, description, valueName, required);
+            _bit = bit;
+            _shortName = shortName;
+            _longName = longName;
+            _flag = flag;
+            _requires = requires;
+            _excludes = excludes;
+        }
+
+        /**
+         * The switch as Switch.toString() would give it
+         */
+        String getDisplayName() {
+            return (_longName == null) ? "-" + _shortName : "-" + _shortName + "/--" + _longName;
+        }
+
+        String getMask() {
+            return "0x" + Long.toHexString(1L << _bit) + "L";
+        }
+    }
+
+    final String _packageName; // empty for the unnamed package
+    final String _typeName; // canonical name of the options type
+    final String _parserName;
+    final boolean _record;
+    final List<Field> _fields = new LinkedList<>(); // in declaration order, which for a record is constructor order
+    final List<SwitchField> _switches = new LinkedList<>(); // in bit order
+    final List<ValueField> _positionals = new LinkedList<>(); // in order of position
+    SwitchField _helpSwitch = null;
+    SwitchField _versionSwitch = null;
+
+    OptionsModel(
+        final String packageName,
+        final String typeName,
+        final String parserName,
+        final boolean record
+    ) {
+        _packageName = packageName;
+        _typeName = typeName;
+        _parserName = parserName;
+        _record = record;
+    }
+
+    boolean hasLists() {
+        for (var field : _fields) {
+            if ((field instanceof ValueField vf) && vf._list) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
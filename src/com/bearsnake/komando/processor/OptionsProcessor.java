@@ -0,0 +1,402 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.processor;
+
+import com.bearsnake.komando.annotations.CommandLineOptions;
+import com.bearsnake.komando.annotations.Flag;
+import com.bearsnake.komando.annotations.Option;
+import com.bearsnake.komando.annotations.Positional;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a parser for each type annotated with CommandLineOptions - see that annotation for what is generated.
+ * Mistakes in the annotations are reported as compilation errors against the offending element,
+ * and no parser is generated for a type which has any.
+ */
+@SupportedAnnotationTypes("com.bearsnake.komando.annotations.CommandLineOptions")
+public class OptionsProcessor extends AbstractProcessor {
+
+    private static final int MAXIMUM_SWITCH_COUNT = Long.SIZE;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+        final Set<? extends TypeElement> annotations,
+        final RoundEnvironment roundEnv
+    ) {
+        for (var element : roundEnv.getElementsAnnotatedWith(CommandLineOptions.class)) {
+            var model = createModel((TypeElement) element);
+            if (model != null) {
+                try {
+                    var file = processingEnv.getFiler().createSourceFile(qualify(model._packageName, model._parserName), element);
+                    try (var writer = file.openWriter()) {
+                        new ParserWriter(model, writer, processingEnv.getElementUtils()).write();
+                    }
+                } catch (IOException ex) {
+                    error(element, "Cannot write parser: " + ex.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Examines an options type
+     * @return the model of the type, or null if it has errors (which have been reported)
+     */
+    private OptionsModel createModel(
+        final TypeElement type
+    ) {
+        var annotation = type.getAnnotation(CommandLineOptions.class);
+        var record = (type.getKind() == ElementKind.RECORD);
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error(type, "An options type may not be private");
+            return null;
+        } else if (!record && !isConstructible(type)) {
+            return null;
+        }
+
+        var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var parserName = annotation.parserName().isEmpty() ? defaultParserName(type) : annotation.parserName();
+        var model = new OptionsModel(packageName, type.getQualifiedName().toString(), parserName, record);
+        var valid = true;
+
+        for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                valid &= addField(model, field, record);
+            }
+        }
+
+        if (annotation.helpSwitch()) {
+            model._helpSwitch = createCanonicalSwitch(model, "h", "help", "Displays usage for this program.");
+        }
+        if (annotation.versionSwitch()) {
+            model._versionSwitch = createCanonicalSwitch(model, "v", "version", "Displays program version.");
+        }
+
+        valid &= checkSwitches(type, model);
+        valid &= checkPositionals(type, model);
+        return valid ? model : null;
+    }
+
+    /**
+     * Adds a field to the model, reporting any problems with its annotations
+     * @return true if there are no problems
+     */
+    private boolean addField(
+        final OptionsModel model,
+        final VariableElement field,
+        final boolean record
+    ) {
+        var name = field.getSimpleName().toString();
+        var option = field.getAnnotation(Option.class);
+        var flag = field.getAnnotation(Flag.class);
+        var positional = field.getAnnotation(Positional.class);
+        var count = ((option == null) ? 0 : 1) + ((flag == null) ? 0 : 1) + ((positional == null) ? 0 : 1);
+        if (count == 0) {
+            model._fields.add(new OptionsModel.Field(name, defaultValue(field.asType())));
+            return true;
+        } else if (count > 1) {
+            error(field, "Only one of @Option, @Flag and @Positional may be given");
+            return false;
+        }
+
+        if (!record && (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL))) {
+            error(field, "An options field may be neither private nor final");
+            return false;
+        }
+
+        var type = field.asType();
+        var list = isList(type);
+        var kind = valueKind(list ? ((DeclaredType) type).getTypeArguments().get(0) : type);
+        var primitive = type.getKind().isPrimitive();
+        if ((kind == null) || (list && primitive)) {
+            error(field, "An options field must be boolean, int, long, double, their boxed forms, String, or a List of one of those");
+            return false;
+        }
+
+        if (flag != null) {
+            if (list || (kind != OptionsModel.ValueKind.BOOLEAN)) {
+                error(field, "A @Flag field must be boolean or Boolean");
+                return false;
+            }
+            var sw = new OptionsModel.SwitchField(name,
+                                                  model._switches.size(),
+                                                  flag.shortName(),
+                                                  flag.longName().isEmpty() ? null : flag.longName(),
+                                                  true,
+                                                  kind,
+                                                  primitive,
+                                                  false,
+                                                  flag.description(),
+                                                  null,
+                                                  false,
+                                                  flag.requires(),
+                                                  flag.excludes());
+            model._fields.add(sw);
+            model._switches.add(sw);
+        } else if (option != null) {
+            var sw = new OptionsModel.SwitchField(name,
+                                                  model._switches.size(),
+                                                  option.shortName(),
+                                                  option.longName().isEmpty() ? null : option.longName(),
+                                                  false,
+                                                  kind,
+                                                  primitive,
+                                                  list,
+                                                  option.description(),
+                                                  option.valueName().isEmpty() ? name : option.valueName(),
+                                                  option.required(),
+                                                  option.requires(),
+                                                  option.excludes());
+            model._fields.add(sw);
+            model._switches.add(sw);
+        } else {
+            var arg = new OptionsModel.ValueField(name,
+                                                  kind,
+                                                  primitive,
+                                                  list,
+                                                  positional.description(),
+                                                  positional.valueName().isEmpty() ? name : positional.valueName(),
+                                                  positional.required());
+            model._fields.add(arg);
+            model._positionals.add(arg);
+        }
+        return true;
+    }
+
+    private OptionsModel.SwitchField createCanonicalSwitch(
+        final OptionsModel model,
+        final String shortName,
+        final String longName,
+        final String description
+    ) {
+        var sw = new OptionsModel.SwitchField(null,
+                                              model._switches.size(),
+                                              shortName,
+                                              longName,
+                                              true,
+                                              OptionsModel.ValueKind.BOOLEAN,
+                                              true,
+                                              false,
+                                              new String[]{ description },
+                                              null,
+                                              false,
+                                              new String[0],
+                                              new String[0]);
+        model._switches.add(sw);
+        return sw;
+    }
+
+    /**
+     * Checks the names of the switches, and resolves their dependencies and exclusions
+     */
+    private boolean checkSwitches(
+        final TypeElement type,
+        final OptionsModel model
+    ) {
+        if (model._switches.size() > MAXIMUM_SWITCH_COUNT) {
+            error(type, "An options type may have at most " + MAXIMUM_SWITCH_COUNT + " switches");
+            return false;
+        }
+
+        var valid = true;
+        var names = new HashSet<String>();
+        var switchesByField = new HashMap<String, OptionsModel.SwitchField>();
+        for (var sw : model._switches) {
+            if (sw._shortName.isEmpty() || sw._shortName.startsWith("-") || ((sw._longName != null) && sw._longName.startsWith("-"))) {
+                error(type, "Switch " + sw.getDisplayName() + " must be named without leading hyphens");
+                valid = false;
+            }
+            if (sw._description.length == 0) {
+                error(type, "Switch " + sw.getDisplayName() + " has no description");
+                valid = false;
+            }
+            if (!names.add("-" + sw._shortName) || ((sw._longName != null) && !names.add("--" + sw._longName))) {
+                error(type, "Switch " + sw.getDisplayName() + " has the same name as another switch");
+                valid = false;
+            }
+            if (sw._name != null) {
+                switchesByField.put(sw._name, sw);
+            }
+        }
+
+        for (var sw : model._switches) {
+            valid &= resolve(type, sw, sw._requires, switchesByField, sw._dependencies);
+            valid &= resolve(type, sw, sw._excludes, switchesByField, sw._exclusions);
+        }
+        return valid;
+    }
+
+    /**
+     * Resolves the field names given for the dependencies or exclusions of a switch, into the switches of those fields
+     */
+    private boolean resolve(
+        final TypeElement type,
+        final OptionsModel.SwitchField sw,
+        final String[] fieldNames,
+        final Map<String, OptionsModel.SwitchField> switchesByField,
+        final List<OptionsModel.SwitchField> resolved
+    ) {
+        var valid = true;
+        for (var fieldName : fieldNames) {
+            var other = switchesByField.get(fieldName);
+            if ((other == null) || (other == sw)) {
+                error(type, "Switch " + sw.getDisplayName() + " refers to '" + fieldName + "', which is not another @Option or @Flag field");
+                valid = false;
+            } else if (!resolved.contains(other)) {
+                resolved.add(other);
+            }
+        }
+        resolved.sort((sw1, sw2) -> Integer.compare(sw1._bit, sw2._bit));
+        return valid;
+    }
+
+    private boolean checkPositionals(
+        final TypeElement type,
+        final OptionsModel model
+    ) {
+        var px = 0;
+        for (var arg : model._positionals) {
+            if (arg._list && (px != model._positionals.size() - 1)) {
+                error(type, "Variadic positional argument '" + arg._name + "' must be the last one");
+                return false;
+            }
+            if (arg._description.length == 0) {
+                error(type, "Positional argument '" + arg._name + "' has no description");
+                return false;
+            }
+            px++;
+        }
+        return true;
+    }
+
+    /**
+     * Ensures that a class can be instantiated by the generated parser
+     */
+    private boolean isConstructible(
+        final TypeElement type
+    ) {
+        if ((type.getKind() != ElementKind.CLASS)
+            || type.getModifiers().contains(Modifier.ABSTRACT)
+            || ((type.getEnclosingElement() instanceof TypeElement) && !type.getModifiers().contains(Modifier.STATIC))) {
+            error(type, "@CommandLineOptions applies only to records, and to concrete classes which are top-level or static");
+            return false;
+        }
+
+        for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "An options class must have a non-private constructor with no parameters");
+        return false;
+    }
+
+    private static String defaultParserName(
+        final TypeElement type
+    ) {
+        var name = new StringBuilder(type.getSimpleName());
+        for (var enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement te; enclosing = te.getEnclosingElement()) {
+            name.insert(0, te.getSimpleName() + "_");
+        }
+        return name.append("Parser").toString();
+    }
+
+    private static String qualify(
+        final String packageName,
+        final String simpleName
+    ) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private boolean isList(
+        final TypeMirror type
+    ) {
+        if (type instanceof DeclaredType declared) {
+            var element = (TypeElement) declared.asElement();
+            return element.getQualifiedName().contentEquals("java.util.List") && (declared.getTypeArguments().size() == 1);
+        }
+        return false;
+    }
+
+    /**
+     * Determines the kind of value for a (non-list) type
+     * @return the kind, or null if the type is not supported
+     */
+    private static OptionsModel.ValueKind valueKind(
+        final TypeMirror type
+    ) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> OptionsModel.ValueKind.BOOLEAN;
+            case INT -> OptionsModel.ValueKind.INT;
+            case LONG -> OptionsModel.ValueKind.LONG;
+            case DOUBLE -> OptionsModel.ValueKind.DOUBLE;
+            case DECLARED -> {
+                var name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+                for (var kind : OptionsModel.ValueKind.values()) {
+                    if (name.equals("java.lang." + kind._boxedName)) {
+                        yield kind;
+                    }
+                }
+                yield null;
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * The value given for a record component which is not annotated
+     */
+    private static String defaultValue(
+        final TypeMirror type
+    ) {
+        // A literal of the component's own type, so that there is no cast for -Xlint:cast to call redundant -
+        // except for byte and short, which have no literals, and for which an int is not converted in an invocation
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case BYTE -> "(byte) 0";
+            case CHAR -> "'\\0'";
+            case DOUBLE -> "0.0";
+            case FLOAT -> "0.0f";
+            case INT -> "0";
+            case LONG -> "0L";
+            case SHORT -> "(short) 0";
+            default -> "null";
+        };
+    }
+
+    private void error(
+        final Element element,
+        final String message
+    ) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,473 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.processor;
+
+import javax.lang.model.util.Elements;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the source of the parser for one options type.
+ * Each switch is bit n of a long (in declaration order, then the help and version switches), so that
+ * the required, dependency and exclusion rules are tested with masks computed here rather than at runtime.
+ * Switch names are dispatched with a string switch, which javac compiles to a switch on the hash code.
+ * For a class, converted values are stored directly into the fields of the options instance; for a record,
+ * they are kept in local variables, which are given to the canonical constructor at the end.
+ * Lists are always accumulated in local variables, so that a list set up by an options class's constructor
+ * is replaced, rather than added to.
+ */
+class ParserWriter {
+
+    private final OptionsModel _model;
+    private final PrintWriter _out;
+    private final Elements _elements;
+    private int _indent = 0;
+
+    // Bit masks of the switches which are required, which require others, and which exclude others
+    private long _required = 0;
+    private long _dependencySubjects = 0;
+    private long _exclusionSubjects = 0;
+
+    ParserWriter(
+        final OptionsModel model,
+        final Writer writer,
+        final Elements elements
+    ) {
+        _model = model;
+        _out = new PrintWriter(writer);
+        _elements = elements;
+        for (var sw : model._switches) {
+            _required |= sw._required ? (1L << sw._bit) : 0;
+            _dependencySubjects |= sw._dependencies.isEmpty() ? 0 : (1L << sw._bit);
+            _exclusionSubjects |= sw._exclusions.isEmpty() ? 0 : (1L << sw._bit);
+        }
+    }
+
+    void write() {
+        line("// Generated by " + OptionsProcessor.class.getName() + " from " + _model._typeName + " - do not edit");
+        line("");
+        if (!_model._packageName.isEmpty()) {
+            line("package " + _model._packageName + ";");
+            line("");
+        }
+
+        line("import com.bearsnake.komando.ArgumentSwitch;");
+        line("import com.bearsnake.komando.Binding;");
+        line("import com.bearsnake.komando.BindingContext;");
+        line("import com.bearsnake.komando.CommandLineHandler;");
+        line("import com.bearsnake.komando.PositionalArgument;");
+        line("import com.bearsnake.komando.SimpleSwitch;");
+        line("import com.bearsnake.komando.Switch;");
+        line("import com.bearsnake.komando.exceptions.KomandoException;");
+        line("import com.bearsnake.komando.values.ValueType;");
+        line("");
+        line("import javax.annotation.processing.Generated;");
+        if (_model.hasLists()) {
+            line("import java.util.ArrayList;");
+            line("import java.util.List;");
+        }
+        line("");
+
+        line("/**");
+        line(" * Parses command lines into " + _model._typeName + " - see CommandLineOptions");
+        line(" */");
+        line("@Generated(\"" + OptionsProcessor.class.getName() + "\")");
+        open("public final class " + _model._parserName + " {");
+        line("");
+        writeConstants();
+        line("");
+        line("private " + _model._parserName + "() {}");
+        line("");
+        writeParse();
+        line("");
+        writeCreateHandler();
+        close("}");
+        _out.flush();
+    }
+
+    private void writeConstants() {
+        line("// The switches as they appear in messages, indexed by bit");
+        open("private static final String[] SWITCHES = {");
+        for (var sw : _model._switches) {
+            line(literal(sw.getDisplayName()) + ",");
+        }
+        close("};");
+
+        writeMask("REQUIRED", _required);
+        writeMask("DEPENDENCY_SUBJECTS", _dependencySubjects);
+        writeMask("EXCLUSION_SUBJECTS", _exclusionSubjects);
+    }
+
+    private void writeMask(
+        final String name,
+        final long bits
+    ) {
+        if (bits != 0) {
+            line("private static final long " + name + " = 0x" + Long.toHexString(bits) + "L;");
+        }
+    }
+
+    private void writeParse() {
+        line("/**");
+        line(" * Parses a command line");
+        line(" * @param args the tokens of the command line");
+        line(" * @return the options, with any messages");
+        line(" */");
+        open("public static Binding<" + _model._typeName + "> parse(");
+        line("final String... args");
+        _indent--;
+        open(") {");
+        line("var ctx = new BindingContext(args);");
+        line("var specified = 0L;");
+        line("var positionalCount = 0;");
+        if (!_model._record) {
+            line("var options = new " + _model._typeName + "();");
+        }
+        for (var field : _model._fields) {
+            if ((field instanceof OptionsModel.ValueField vf) && isLocal(vf)) {
+                var isFlag = (vf instanceof OptionsModel.SwitchField sw) && sw._flag;
+                if (!isFlag) {
+                    line(vf.getLocalType() + " " + local(vf) + " = " + (vf._list ? "null" : vf._defaultValue) + ";");
+                }
+            }
+        }
+        line("var checkSwitch = true;");
+        line("");
+
+        open("while (ctx.hasMoreArguments()) {");
+        line("var arg = ctx.nextArgument();");
+        open("if (checkSwitch && arg.startsWith(\"-\")) {");
+        open("if (arg.equals(\"--\")) {");
+        line("checkSwitch = false;");
+        line("continue;");
+        close("}");
+        line("");
+        line("var equalsIndex = BindingContext.indexOfEquals(arg);");
+        open("switch ((equalsIndex < 0) ? arg : arg.substring(0, equalsIndex)) {");
+        for (var sw : _model._switches) {
+            writeSwitchCase(sw);
+        }
+        line("default -> ctx.unrecognizedSwitch(arg);");
+        close("}");
+        _indent--;
+        open("} else {");
+        writePositionals();
+        close("}");
+        close("}");
+        line("");
+
+        writeValidation();
+        line("");
+        writeBinding();
+        close("}");
+    }
+
+    private void writeSwitchCase(
+        final OptionsModel.SwitchField sw
+    ) {
+        var label = literal("-" + sw._shortName) + ((sw._longName == null) ? "" : ", " + literal("--" + sw._longName));
+        var name = "SWITCHES[" + sw._bit + "]";
+        var bit = sw.getMask();
+        open("case " + label + " -> {");
+        if (sw._flag) {
+            open("if ((specified & " + bit + ") != 0) {");
+            line("ctx.specifiedMoreThanOnce(" + name + ");");
+            _indent--;
+            open("} else {");
+            line("specified |= " + bit + ";");
+            if ((sw._name != null) && !_model._record) {
+                line("options." + sw._name + " = true;");
+            }
+            close("}");
+        } else if (!sw._list) {
+            open("if ((ctx.scanValues(arg, equalsIndex, " + name + ", true, (specified & " + bit + ") != 0) > 0)");
+            line("&& ctx.convert" + sw._kind._conversion + "(0, " + name + ")) {");
+            line(target(sw) + " = ctx.get" + sw._kind._conversion + "();");
+            line("specified |= " + bit + ";");
+            close("}");
+        } else {
+            var list = local(sw);
+            line("var valueCount = ctx.scanValues(arg, equalsIndex, " + name + ", false, false);");
+            open("if (valueCount > 0) {");
+            open("if (" + list + " == null) {");
+            line(list + " = new ArrayList<>();");
+            close("}");
+            line("var initialSize = " + list + ".size();");
+            line("var vx = 0;");
+            open("while ((vx < valueCount) && ctx.convert" + sw._kind._conversion + "(vx, " + name + ")) {");
+            line(list + ".add(ctx.get" + sw._kind._conversion + "());");
+            line("vx++;");
+            close("}");
+            line("");
+            line("// If any of the values is bad, none of the values given with this instance of the switch are kept");
+            open("if (vx == valueCount) {");
+            line("specified |= " + bit + ";");
+            _indent--;
+            open("} else {");
+            line(list + ".subList(initialSize, " + list + ".size()).clear();");
+            close("}");
+            close("}");
+        }
+        close("}");
+    }
+
+    private void writePositionals() {
+        var positionals = _model._positionals;
+        if (positionals.isEmpty()) {
+            line("ctx.extraneousArgument();");
+            return;
+        }
+
+        var last = positionals.get(positionals.size() - 1);
+        open("switch (positionalCount++) {");
+        for (var px = 0; px < positionals.size(); ++px) {
+            var arg = positionals.get(px);
+            if (arg._list) {
+                break;
+            }
+            open("case " + px + " -> {");
+            open("if (ctx.convertPositional" + arg._kind._conversion + "(arg, " + literal(arg._valueName) + ")) {");
+            line(target(arg) + " = ctx.get" + arg._kind._conversion + "();");
+            close("}");
+            close("}");
+        }
+
+        if (last._list) {
+            var list = local(last);
+            open("default -> {");
+            open("if (ctx.convertPositional" + last._kind._conversion + "(arg, " + literal(last._valueName) + ")) {");
+            open("if (" + list + " == null) {");
+            line(list + " = new ArrayList<>();");
+            close("}");
+            line(list + ".add(ctx.get" + last._kind._conversion + "());");
+            close("}");
+            close("}");
+        } else {
+            line("default -> ctx.extraneousArgument();");
+        }
+        close("}");
+    }
+
+    /**
+     * Writes the checks of required switches, dependencies, exclusions and required positional arguments -
+     * in the order, and with the messages, of CommandLineParser
+     */
+    private void writeValidation() {
+        line("var helpRequested = " + requested(_model._helpSwitch) + ";");
+        line("var versionRequested = " + requested(_model._versionSwitch) + ";");
+        open("if (!helpRequested && !versionRequested) {");
+
+        if (_required != 0) {
+            open("if ((specified & REQUIRED) != REQUIRED) {");
+            for (var sw : _model._switches) {
+                if (sw._required) {
+                    open("if ((specified & " + sw.getMask() + ") == 0) {");
+                    line("ctx.requiredNotSpecified(SWITCHES[" + sw._bit + "]);");
+                    close("}");
+                }
+            }
+            close("}");
+        }
+
+        if (_dependencySubjects != 0) {
+            open("if ((specified & DEPENDENCY_SUBJECTS) != 0) {");
+            for (var sw : _model._switches) {
+                writeRuleChecks(sw, sw._dependencies, "== 0", "requiresSwitch");
+            }
+            close("}");
+        }
+
+        if (_exclusionSubjects != 0) {
+            open("if ((specified & EXCLUSION_SUBJECTS) != 0) {");
+            for (var sw : _model._switches) {
+                writeRuleChecks(sw, sw._exclusions, "!= 0", "excludedBySwitch");
+            }
+            close("}");
+        }
+
+        var px = 0;
+        for (var arg : _model._positionals) {
+            px++;
+            if (arg._required) {
+                open("if (positionalCount < " + px + ") {");
+                line("ctx.positionalRequiredNotSpecified(" + literal(arg._valueName) + ");");
+                close("}");
+            }
+        }
+        close("}");
+    }
+
+    private void writeRuleChecks(
+        final OptionsModel.SwitchField subject,
+        final List<OptionsModel.SwitchField> objects,
+        final String violation,
+        final String report
+    ) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        open("if ((specified & " + subject.getMask() + ") != 0) {");
+        for (var object : objects) {
+            open("if ((specified & " + object.getMask() + ") " + violation + ") {");
+            line("ctx." + report + "(SWITCHES[" + subject._bit + "], SWITCHES[" + object._bit + "]);");
+            close("}");
+        }
+        close("}");
+    }
+
+    private void writeBinding() {
+        if (_model._record) {
+            var fields = _model._fields;
+            if (fields.isEmpty()) {
+                line("return ctx.bind(new " + _model._typeName + "(), helpRequested, versionRequested);");
+                return;
+            }
+
+            line("var options = new " + _model._typeName + "(");
+            _indent++;
+            for (var fx = 0; fx < fields.size(); ++fx) {
+                var field = fields.get(fx);
+                String value;
+                if (field instanceof OptionsModel.SwitchField sw && sw._flag) {
+                    value = "(specified & " + sw.getMask() + ") != 0";
+                } else if (field instanceof OptionsModel.ValueField vf) {
+                    value = vf._list ? "(" + local(vf) + " == null) ? List.of() : List.copyOf(" + local(vf) + ")" : local(vf);
+                } else {
+                    value = field._defaultValue;
+                }
+                line(value + ((fx < fields.size() - 1) ? "," : ");"));
+            }
+            _indent--;
+        } else {
+            for (var field : _model._fields) {
+                if ((field instanceof OptionsModel.ValueField vf) && vf._list) {
+                    open("if (" + local(vf) + " != null) {");
+                    line("options." + vf._name + " = " + local(vf) + ";");
+                    close("}");
+                }
+            }
+        }
+        line("return ctx.bind(options, helpRequested, versionRequested);");
+    }
+
+    private void writeCreateHandler() {
+        line("/**");
+        line(" * Builds the CommandLineHandler which is equivalent to this parser - for displaying usage");
+        line(" */");
+        open("public static CommandLineHandler createHandler() throws KomandoException {");
+        line("var handler = new CommandLineHandler();");
+        line("var switches = new Switch[SWITCHES.length];");
+        for (var sw : _model._switches) {
+            if ((sw == _model._helpSwitch) || (sw == _model._versionSwitch)) {
+                continue;
+            }
+
+            var builder = new StringBuilder(sw._flag ? "new SimpleSwitch.Builder()" : "new ArgumentSwitch.Builder()");
+            builder.append(".setShortName(").append(literal(sw._shortName)).append(")");
+            if (sw._longName != null) {
+                builder.append(".setLongName(").append(literal(sw._longName)).append(")");
+            }
+            if (!sw._flag) {
+                builder.append(".setValueName(").append(literal(sw._valueName)).append(")");
+                builder.append(".setValueType(ValueType.").append(sw._kind._valueType).append(")");
+                builder.append(sw._list ? ".setIsMultiple(true)" : "");
+                builder.append(sw._required ? ".setIsRequired(true)" : "");
+            }
+            for (var description : sw._description) {
+                builder.append(".addDescription(").append(literal(description)).append(")");
+            }
+            line("switches[" + sw._bit + "] = " + builder + ".build();");
+            line("handler.addSwitch(switches[" + sw._bit + "]);");
+        }
+        if (_model._helpSwitch != null) {
+            line("handler.addCanonicalHelpSwitch();");
+        }
+        if (_model._versionSwitch != null) {
+            line("handler.addCanonicalVersionSwitch();");
+        }
+
+        for (var sw : _model._switches) {
+            for (var dependency : sw._dependencies) {
+                line("handler.addDependency(switches[" + sw._bit + "], switches[" + dependency._bit + "]);");
+            }
+            for (var exclusion : sw._exclusions) {
+                line("handler.addMutualExclusion(switches[" + sw._bit + "], switches[" + exclusion._bit + "]);");
+            }
+        }
+
+        for (var arg : _model._positionals) {
+            var builder = new StringBuilder("new PositionalArgument.Builder()");
+            builder.append(".setValueName(").append(literal(arg._valueName)).append(")");
+            builder.append(".setValueType(ValueType.").append(arg._kind._valueType).append(")");
+            builder.append(arg._required ? ".setIsRequired(true)" : "");
+            builder.append(arg._list ? ".setIsVariadic(true)" : "");
+            for (var description : arg._description) {
+                builder.append(".addDescription(").append(literal(description)).append(")");
+            }
+            line("handler.addPositionalArgument(" + builder + ".build());");
+        }
+        line("return handler;");
+        close("}");
+    }
+
+    /**
+     * Determines whether the value of a field is kept in a local variable while parsing
+     * (rather than being stored directly into the options)
+     */
+    private boolean isLocal(
+        final OptionsModel.ValueField field
+    ) {
+        return _model._record || field._list;
+    }
+
+    private String target(
+        final OptionsModel.ValueField field
+    ) {
+        return isLocal(field) ? local(field) : "options." + field._name;
+    }
+
+    private static String local(
+        final OptionsModel.ValueField field
+    ) {
+        return field._name + "Value";
+    }
+
+    private static String requested(
+        final OptionsModel.SwitchField sw
+    ) {
+        return (sw == null) ? "false" : "(specified & " + sw.getMask() + ") != 0";
+    }
+
+    private String literal(
+        final String value
+    ) {
+        return _elements.getConstantExpression(value);
+    }
+
+    private void open(
+        final String text
+    ) {
+        line(text);
+        _indent++;
+    }
+
+    private void close(
+        final String text
+    ) {
+        _indent--;
+        line(text);
+    }
+
+    private void line(
+        final String text
+    ) {
+        if (!text.isEmpty()) {
+            _out.print("    ".repeat(_indent));
+        }
+        _out.println(text);
+    }
+}
@@ -0,0 +1,165 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.restrictions;
+
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.exceptions.RestrictionException;
+import com.bearsnake.komando.exceptions.ValuesNotComparableException;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FixedPointValueList;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.FloatingPointValueList;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+
+/**
+ * Describes a restriction of floating-point values to a range, comparing primitive doubles directly.
+ * Each limit may be inclusive or exclusive, or may be omitted so that the range is open at that end.
+ * Fixed-point values are compared against the limits as doubles; values of other types are not comparable.
+ * NaN is never acceptable.
+ */
+public class DoubleRangeRestriction extends Restriction {
+
+    private final boolean _hasLowerLimit;
+    private final double _lowerLimit;
+    private final boolean _lowerInclusive;
+    private final boolean _hasUpperLimit;
+    private final double _upperLimit;
+    private final boolean _upperInclusive;
+
+    // The limits adjusted to be inclusive, so that a value v is acceptable exactly when _minimum <= v <= _maximum
+    private final double _minimum;
+    private final double _maximum;
+
+    /**
+     * Creates a restriction ranging from the lower value to the upper value, inclusive
+     */
+    public DoubleRangeRestriction(
+        final double lowerLimit,
+        final double upperLimit
+    ) {
+        this(true, lowerLimit, true, true, upperLimit, true);
+    }
+
+    private DoubleRangeRestriction(
+        final boolean hasLowerLimit,
+        final double lowerLimit,
+        final boolean lowerInclusive,
+        final boolean hasUpperLimit,
+        final double upperLimit,
+        final boolean upperInclusive
+    ) {
+        _hasLowerLimit = hasLowerLimit;
+        _lowerLimit = lowerLimit;
+        _lowerInclusive = lowerInclusive;
+        _hasUpperLimit = hasUpperLimit;
+        _upperLimit = upperLimit;
+        _upperInclusive = upperInclusive;
+
+        _minimum = !hasLowerLimit ? Double.NEGATIVE_INFINITY : lowerInclusive ? lowerLimit : Math.nextUp(lowerLimit);
+        _maximum = !hasUpperLimit ? Double.POSITIVE_INFINITY : upperInclusive ? upperLimit : Math.nextDown(upperLimit);
+    }
+
+    public boolean accepts(
+        final double value
+    ) {
+        return (value >= _minimum) && (value <= _maximum);
+    }
+
+    /**
+     * Checks a range of an array of values in a single pass
+     * @return index of the first value which violates the restriction, or -1 if they are all acceptable
+     */
+    public int indexOfViolation(
+        final double[] values,
+        final int start,
+        final int end
+    ) {
+        var minimum = _minimum;
+        var maximum = _maximum;
+        for (var vx = start; vx < end; ++vx) {
+            var value = values[vx];
+            if (!((value >= minimum) && (value <= maximum))) {
+                return vx;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void check(Value value) throws KomandoException {
+        if (!accepts(value)) {
+            throw new RestrictionException(value);
+        }
+    }
+
+    @Override
+    public boolean accepts(
+        final Value value
+    ) {
+        if (value instanceof FloatingPointValue fpv) {
+            return accepts(fpv.getDouble());
+        } else if (value instanceof FixedPointValue fpv) {
+            return accepts((double) fpv.getLong());
+        } else {
+            throw new ValuesNotComparableException(value, new FloatingPointValue(_hasLowerLimit ? _lowerLimit : _upperLimit));
+        }
+    }
+
+    @Override
+    public int indexOfViolation(
+        final ValueList values,
+        final int start,
+        final int end
+    ) {
+        if (values instanceof FloatingPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!accepts(fpl.getDouble(vx))) {
+                    return vx;
+                }
+            }
+        } else if (values instanceof FixedPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!accepts((double) fpl.getLong(vx))) {
+                    return vx;
+                }
+            }
+        } else {
+            return super.indexOfViolation(values, start, end);
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return RangeFormat.format(_hasLowerLimit ? Double.toString(_lowerLimit) : null,
+                                  _lowerInclusive,
+                                  _hasUpperLimit ? Double.toString(_upperLimit) : null,
+                                  _upperInclusive);
+    }
+
+    public static class Builder {
+        private boolean _hasLowerLimit = false;
+        private double _lowerLimit = 0.0;
+        private boolean _lowerInclusive = true;
+        private boolean _hasUpperLimit = false;
+        private double _upperLimit = 0.0;
+        private boolean _upperInclusive = true;
+
+        public Builder setLowerLimit(double value) { return setLowerLimit(value, true); }
+        public Builder setLowerLimit(double value, boolean inclusive) { _hasLowerLimit = true; _lowerLimit = value; _lowerInclusive = inclusive; return this; }
+        public Builder setUpperLimit(double value) { return setUpperLimit(value, true); }
+        public Builder setUpperLimit(double value, boolean inclusive) { _hasUpperLimit = true; _upperLimit = value; _upperInclusive = inclusive; return this; }
+
+        public DoubleRangeRestriction build() {
+            return new DoubleRangeRestriction(_hasLowerLimit,
+                                              _lowerLimit,
+                                              _lowerInclusive,
+                                              _hasUpperLimit,
+                                              _upperLimit,
+                                              _upperInclusive);
+        }
+    }
+}
@@ -6,43 +6,176 @@ package com.bearsnake.komando.restrictions;
 
 import com.bearsnake.komando.exceptions.KomandoException;
 import com.bearsnake.komando.exceptions.RestrictionException;
+import com.bearsnake.komando.values.BooleanValue;
+import com.bearsnake.komando.values.BooleanValueList;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FixedPointValueList;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.FloatingPointValueList;
 import com.bearsnake.komando.values.StringValue;
+import com.bearsnake.komando.values.StringValueList;
 import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * Restricts values to those in a set of accepted values.
+ * The accepted values are indexed by type when the restriction is created, so that checking a value does
+ * not depend upon how many values are accepted: strings are held in a hash set, numbers in sorted primitive
+ * arrays (floating-point values by their bit patterns, matching FloatingPointValue.equals()), and booleans
+ * as a pair of flags. Accepted values of any other type are searched linearly (and there usually are none).
+ */
 public class EnumerationRestriction extends Restriction {
 
-    private final Collection<Value> _acceptedValues = new LinkedList<>();
+    private static final long[] NO_LONGS = new long[0];
+
+    private final List<Value> _acceptedValues;
+    private final Set<String> _strings = new HashSet<>();
+    private final long[] _fixedPoints;
+    private final long[] _floatingPointBits;
+    private final boolean _acceptsTrue;
+    private final boolean _acceptsFalse;
+    private final List<Value> _others = new LinkedList<>();
 
     public EnumerationRestriction(
         Collection<Value> acceptedValues
     ) {
-        _acceptedValues.addAll(acceptedValues);
+        _acceptedValues = List.copyOf(acceptedValues);
+
+        var fixedPoints = new long[_acceptedValues.size()];
+        var fixedPointCount = 0;
+        var floatingPointBits = new long[_acceptedValues.size()];
+        var floatingPointCount = 0;
+        var acceptsTrue = false;
+        var acceptsFalse = false;
+        for (var av : _acceptedValues) {
+            if (av instanceof StringValue sv) {
+                _strings.add(sv.getValue());
+            } else if (av instanceof FixedPointValue fpv) {
+                fixedPoints[fixedPointCount++] = fpv.getLong();
+            } else if (av instanceof FloatingPointValue fpv) {
+                floatingPointBits[floatingPointCount++] = Double.doubleToLongBits(fpv.getDouble());
+            } else if (av instanceof BooleanValue bv) {
+                acceptsTrue |= bv.getBoolean();
+                acceptsFalse |= !bv.getBoolean();
+            } else {
+                _others.add(av);
+            }
+        }
+
+        _fixedPoints = sorted(fixedPoints, fixedPointCount);
+        _floatingPointBits = sorted(floatingPointBits, floatingPointCount);
+        _acceptsTrue = acceptsTrue;
+        _acceptsFalse = acceptsFalse;
     }
 
     public EnumerationRestriction(
         String[] acceptedValues
     ) {
-        _acceptedValues.addAll(Arrays.stream(acceptedValues)
-                                     .map(StringValue::new)
-                                     .collect(Collectors.toCollection(LinkedList::new)));
+        this(Arrays.stream(acceptedValues).map(StringValue::new).map(Value.class::cast).toList());
     }
 
-    public Collection<Value> getAcceptedValues() { return new LinkedList<>(_acceptedValues); }
+    /**
+     * Retrieves the accepted values, in the order in which they were given. The collection is unmodifiable.
+     */
+    public Collection<Value> getAcceptedValues() { return _acceptedValues; }
 
     @Override
     public void check(Value value) throws KomandoException {
-        for (var av : _acceptedValues) {
+        if (!accepts(value)) {
+            throw new RestrictionException(value);
+        }
+    }
+
+    /**
+     * Checks the values of a ValueList directly from its primitive storage, where there is any
+     */
+    @Override
+    public int indexOfViolation(
+        final ValueList values,
+        final int start,
+        final int end
+    ) {
+        if (values instanceof FixedPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                if ((Arrays.binarySearch(_fixedPoints, fpl.getLong(vx)) < 0) && !acceptsOther(fpl.get(vx))) {
+                    return vx;
+                }
+            }
+        } else if (values instanceof FloatingPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                var bits = Double.doubleToLongBits(fpl.getDouble(vx));
+                if ((Arrays.binarySearch(_floatingPointBits, bits) < 0) && !acceptsOther(fpl.get(vx))) {
+                    return vx;
+                }
+            }
+        } else if (values instanceof BooleanValueList bvl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!(bvl.getBoolean(vx) ? _acceptsTrue : _acceptsFalse) && !acceptsOther(bvl.get(vx))) {
+                    return vx;
+                }
+            }
+        } else if (values instanceof StringValueList svl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!_strings.contains(svl.getString(vx)) && !acceptsOther(svl.get(vx))) {
+                    return vx;
+                }
+            }
+        } else {
+            return super.indexOfViolation(values, start, end);
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean accepts(
+        final Value value
+    ) {
+        if (value instanceof StringValue sv) {
+            return _strings.contains(sv.getValue()) || acceptsOther(value);
+        } else if (value instanceof FixedPointValue fpv) {
+            return (Arrays.binarySearch(_fixedPoints, fpv.getLong()) >= 0) || acceptsOther(value);
+        } else if (value instanceof FloatingPointValue fpv) {
+            return (Arrays.binarySearch(_floatingPointBits, Double.doubleToLongBits(fpv.getDouble())) >= 0)
+                   || acceptsOther(value);
+        } else if (value instanceof BooleanValue bv) {
+            return (bv.getBoolean() ? _acceptsTrue : _acceptsFalse) || acceptsOther(value);
+        } else {
+            return acceptsOther(value);
+        }
+    }
+
+    /**
+     * Searches the accepted values which are not of one of the indexed types
+     */
+    private boolean acceptsOther(
+        final Value value
+    ) {
+        for (var av : _others) {
             if (av.equals(value)) {
-                return;
+                return true;
             }
         }
+        return false;
+    }
+
+    private static long[] sorted(
+        final long[] values,
+        final int count
+    ) {
+        if (count == 0) {
+            return NO_LONGS;
+        }
 
-        throw new RestrictionException(value);
+        var result = Arrays.copyOf(values, count);
+        Arrays.sort(result);
+        return result;
     }
 
     @Override
@@ -0,0 +1,183 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.restrictions;
+
+import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.exceptions.RestrictionException;
+import com.bearsnake.komando.exceptions.ValuesNotComparableException;
+import com.bearsnake.komando.values.FixedPointValue;
+import com.bearsnake.komando.values.FixedPointValueList;
+import com.bearsnake.komando.values.FloatingPointValue;
+import com.bearsnake.komando.values.FloatingPointValueList;
+import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
+
+/**
+ * Describes a restriction of fixed-point values to a range, comparing primitive longs directly.
+ * Each limit may be inclusive or exclusive, or may be omitted so that the range is open at that end.
+ * Floating-point values are compared against the limits as doubles; values of other types are not comparable.
+ */
+public class LongRangeRestriction extends Restriction {
+
+    private final boolean _hasLowerLimit;
+    private final long _lowerLimit;
+    private final boolean _lowerInclusive;
+    private final boolean _hasUpperLimit;
+    private final long _upperLimit;
+    private final boolean _upperInclusive;
+
+    // The limits adjusted to be inclusive, so that a value v is acceptable exactly when _minimum <= v <= _maximum
+    private final long _minimum;
+    private final long _maximum;
+
+    /**
+     * Creates a restriction ranging from the lower value to the upper value, inclusive
+     */
+    public LongRangeRestriction(
+        final long lowerLimit,
+        final long upperLimit
+    ) {
+        this(true, lowerLimit, true, true, upperLimit, true);
+    }
+
+    private LongRangeRestriction(
+        final boolean hasLowerLimit,
+        final long lowerLimit,
+        final boolean lowerInclusive,
+        final boolean hasUpperLimit,
+        final long upperLimit,
+        final boolean upperInclusive
+    ) {
+        _hasLowerLimit = hasLowerLimit;
+        _lowerLimit = lowerLimit;
+        _lowerInclusive = lowerInclusive;
+        _hasUpperLimit = hasUpperLimit;
+        _upperLimit = upperLimit;
+        _upperInclusive = upperInclusive;
+
+        var minimum = hasLowerLimit ? lowerLimit : Long.MIN_VALUE;
+        var maximum = hasUpperLimit ? upperLimit : Long.MAX_VALUE;
+        var empty = false;
+        if (hasLowerLimit && !lowerInclusive) {
+            empty = (minimum == Long.MAX_VALUE);
+            minimum++;
+        }
+        if (hasUpperLimit && !upperInclusive) {
+            empty |= (maximum == Long.MIN_VALUE);
+            maximum--;
+        }
+
+        _minimum = empty ? 1 : minimum;
+        _maximum = empty ? 0 : maximum;
+    }
+
+    public boolean accepts(
+        final long value
+    ) {
+        return (value >= _minimum) && (value <= _maximum);
+    }
+
+    public boolean accepts(
+        final double value
+    ) {
+        return (!_hasLowerLimit || (_lowerInclusive ? value >= _lowerLimit : value > _lowerLimit))
+               && (!_hasUpperLimit || (_upperInclusive ? value <= _upperLimit : value < _upperLimit));
+    }
+
+    /**
+     * Checks a range of an array of values in a single pass
+     * @return index of the first value which violates the restriction, or -1 if they are all acceptable
+     */
+    public int indexOfViolation(
+        final long[] values,
+        final int start,
+        final int end
+    ) {
+        var minimum = _minimum;
+        var maximum = _maximum;
+        for (var vx = start; vx < end; ++vx) {
+            var value = values[vx];
+            if ((value < minimum) || (value > maximum)) {
+                return vx;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void check(Value value) throws KomandoException {
+        if (!accepts(value)) {
+            throw new RestrictionException(value);
+        }
+    }
+
+    @Override
+    public boolean accepts(
+        final Value value
+    ) {
+        if (value instanceof FixedPointValue fpv) {
+            return accepts(fpv.getLong());
+        } else if (value instanceof FloatingPointValue fpv) {
+            return accepts(fpv.getDouble());
+        } else {
+            throw new ValuesNotComparableException(value, FixedPointValue.valueOf(_hasLowerLimit ? _lowerLimit : _upperLimit));
+        }
+    }
+
+    @Override
+    public int indexOfViolation(
+        final ValueList values,
+        final int start,
+        final int end
+    ) {
+        if (values instanceof FixedPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!accepts(fpl.getLong(vx))) {
+                    return vx;
+                }
+            }
+        } else if (values instanceof FloatingPointValueList fpl) {
+            for (var vx = start; vx < end; ++vx) {
+                if (!accepts(fpl.getDouble(vx))) {
+                    return vx;
+                }
+            }
+        } else {
+            return super.indexOfViolation(values, start, end);
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return RangeFormat.format(_hasLowerLimit ? Long.toString(_lowerLimit) : null,
+                                  _lowerInclusive,
+                                  _hasUpperLimit ? Long.toString(_upperLimit) : null,
+                                  _upperInclusive);
+    }
+
+    public static class Builder {
+        private boolean _hasLowerLimit = false;
+        private long _lowerLimit = 0;
+        private boolean _lowerInclusive = true;
+        private boolean _hasUpperLimit = false;
+        private long _upperLimit = 0;
+        private boolean _upperInclusive = true;
+
+        public Builder setLowerLimit(long value) { return setLowerLimit(value, true); }
+        public Builder setLowerLimit(long value, boolean inclusive) { _hasLowerLimit = true; _lowerLimit = value; _lowerInclusive = inclusive; return this; }
+        public Builder setUpperLimit(long value) { return setUpperLimit(value, true); }
+        public Builder setUpperLimit(long value, boolean inclusive) { _hasUpperLimit = true; _upperLimit = value; _upperInclusive = inclusive; return this; }
+
+        public LongRangeRestriction build() {
+            return new LongRangeRestriction(_hasLowerLimit,
+                                            _lowerLimit,
+                                            _lowerInclusive,
+                                            _hasUpperLimit,
+                                            _upperLimit,
+                                            _upperInclusive);
+        }
+    }
+}
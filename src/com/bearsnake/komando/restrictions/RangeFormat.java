@@ -0,0 +1,40 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.restrictions;
+
+/**
+ * Produces the descriptions of the primitive range restrictions
+ */
+final class RangeFormat {
+
+    private RangeFormat() {}
+
+    /**
+     * @param lowerLimit text of the lower limit, or null if there is none
+     * @param lowerInclusive true if the lower limit is acceptable
+     * @param upperLimit text of the upper limit, or null if there is none
+     * @param upperInclusive true if the upper limit is acceptable
+     */
+    static String format(
+        final String lowerLimit,
+        final boolean lowerInclusive,
+        final String upperLimit,
+        final boolean upperInclusive
+    ) {
+        if ((lowerLimit != null) && (upperLimit != null)) {
+            return String.format("%s %s value %s %s",
+                                 lowerLimit,
+                                 lowerInclusive ? "<=" : "<",
+                                 upperInclusive ? "<=" : "<",
+                                 upperLimit);
+        } else if (lowerLimit != null) {
+            return String.format("value %s %s", lowerInclusive ? ">=" : ">", lowerLimit);
+        } else if (upperLimit != null) {
+            return String.format("value %s %s", upperInclusive ? "<=" : "<", upperLimit);
+        } else {
+            return "any value";
+        }
+    }
+}
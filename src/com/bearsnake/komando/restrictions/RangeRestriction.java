@@ -26,11 +26,18 @@ public class RangeRestriction extends Restriction {
 
     @Override
     public void check(Value value) throws KomandoException {
-        if ((value.compareTo(_lowerLimit) < 0) || (value.compareTo(_upperLimit) > 0)) {
+        if (!accepts(value)) {
             throw new RestrictionException(value);
         }
     }
 
+    @Override
+    public boolean accepts(
+        final Value value
+    ) {
+        return (value.compareTo(_lowerLimit) >= 0) && (value.compareTo(_upperLimit) <= 0);
+    }
+
     @Override
     public String toString() {
         return String.format("%s <= value <= %s", _lowerLimit, _upperLimit);
@@ -5,10 +5,83 @@
 package com.bearsnake.komando.restrictions;
 
 import com.bearsnake.komando.exceptions.KomandoException;
+import com.bearsnake.komando.exceptions.RestrictionException;
 import com.bearsnake.komando.values.Value;
+import com.bearsnake.komando.values.ValueList;
 
+/**
+ * Base class for restrictions upon the values of switches and positional arguments.
+ * The check() methods throw for a value which violates the restriction. The parser itself uses accepts()
+ * and indexOfViolation() instead, so that rejecting bad input does not cost an exception - subclasses
+ * should override accepts() (and implement check() in terms of it) rather than rely upon the defaults,
+ * which defer to check().
+ */
 public abstract class Restriction {
 
     public abstract void check(final Value value) throws KomandoException;
+
+    /**
+     * Checks the values in a range of a ValueList.
+     * @param values list containing the values to be checked
+     * @param start index of the first value to be checked
+     * @param end index one past the last value to be checked
+     * @throws KomandoException for the first value which violates the restriction
+     */
+    public void check(
+        final ValueList values,
+        final int start,
+        final int end
+    ) throws KomandoException {
+        var vx = indexOfViolation(values, start, end);
+        if (vx >= 0) {
+            check(values.get(vx));
+        }
+    }
+
+    /**
+     * Indicates whether a value satisfies the restriction, without throwing
+     */
+    public boolean accepts(
+        final Value value
+    ) {
+        try {
+            check(value);
+            return true;
+        } catch (KomandoException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the first value in a range of a ValueList which violates the restriction.
+     * Subclasses may override this in order to check the values without creating Value objects.
+     * @param values list containing the values to be checked
+     * @param start index of the first value to be checked
+     * @param end index one past the last value to be checked
+     * @return index of the first value which violates the restriction, or -1 if they are all acceptable
+     */
+    public int indexOfViolation(
+        final ValueList values,
+        final int start,
+        final int end
+    ) {
+        for (var vx = start; vx < end; ++vx) {
+            if (!accepts(values.get(vx))) {
+                return vx;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Produces the message which check() would give for a value which the restriction does not accept.
+     * Subclasses whose check() throws something other than RestrictionException should override this.
+     */
+    public String describeViolation(
+        final Value value
+    ) {
+        return RestrictionException.createMessage(value);
+    }
+
     public abstract String toString(); // force implementation by subclasses
 }
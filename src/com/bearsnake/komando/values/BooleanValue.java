@@ -9,46 +9,149 @@ import com.bearsnake.komando.exceptions.ParseException;
 
 public class BooleanValue extends Value {
 
-    private final Boolean _value;
+    public static final BooleanValue TRUE = new BooleanValue(true);
+    public static final BooleanValue FALSE = new BooleanValue(false);
+
+    private final boolean _value;
 
     public BooleanValue(
-        final Boolean value
+        final boolean value
     ) {
         _value = value;
     }
 
+    /**
+     * Retained for binary compatibility with the boxed constructor - prefer the primitive one.
+     * @throws NullPointerException if value is null (a null value was never usable)
+     */
+    @Deprecated
+    public BooleanValue(
+        final Boolean value
+    ) {
+        this(value.booleanValue());
+    }
+
+    /**
+     * Retrieves the canonical instance for the given value - prefer this to the constructor
+     */
+    public static BooleanValue valueOf(
+        final boolean value
+    ) {
+        return value ? TRUE : FALSE;
+    }
+
+    public final boolean getBoolean() {
+        return _value;
+    }
+
+    /**
+     * Retained for compatibility - boxes the value. Prefer getBoolean().
+     */
     public final Boolean getValue() {
         return _value;
     }
 
     @Override
     public String toString() {
-        return _value.toString();
+        return Boolean.toString(_value);
     }
 
     public static BooleanValue parse(
         final String input
     ) throws ParseException {
-        var inputUpper = input.toUpperCase();
-        if (inputUpper.equals("TRUE") || inputUpper.equals("YES") || inputUpper.equals("ON")) {
-            return new BooleanValue(true);
-        } else if (inputUpper.equals("FALSE") || inputUpper.equals("NO") || inputUpper.equals("OFF")) {
-            return new BooleanValue(false);
+        return parse(input, 0, input.length());
+    }
+
+    /**
+     * Parses a region of text, without copying it
+     */
+    public static BooleanValue parse(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) throws ParseException {
+        return valueOf(parseBoolean(text, start, end));
+    }
+
+    /**
+     * As above, but producing a primitive
+     */
+    public static boolean parseBoolean(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) throws ParseException {
+        var bit = tryParseBoolean(text, start, end);
+        if (bit < 0) {
+            throw ParseStatus.INVALID_BOOLEAN.toException(text.subSequence(start, end));
+        }
+        return bit == 1;
+    }
+
+    /**
+     * Parses a region of text without throwing - an invalid boolean is reported through the status
+     */
+    public static ParseStatus tryParse(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final ParseResult result
+    ) {
+        var bit = tryParseBoolean(text, start, end);
+        return (bit < 0)
+            ? result.fail(ParseStatus.INVALID_BOOLEAN)
+            : result.set(ParseStatus.OK, valueOf(bit == 1));
+    }
+
+    /**
+     * The conversion underlying all the parse methods - also used directly by generated parsers
+     * @return 1 for true, 0 for false, or -1 if the text cannot be interpreted as a boolean value
+     */
+    public static int tryParseBoolean(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        if (matches(text, start, end, "TRUE") || matches(text, start, end, "YES") || matches(text, start, end, "ON")) {
+            return 1;
+        } else if (matches(text, start, end, "FALSE") || matches(text, start, end, "NO") || matches(text, start, end, "OFF")) {
+            return 0;
         } else {
-            throw new ParseException(String.format("'%s' cannot be interpreted as a boolean value", input));
+            return -1;
+        }
+    }
+
+    /**
+     * Case-insensitive comparison of a region of text with an upper-case keyword
+     */
+    private static boolean matches(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final String keyword
+    ) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+
+        for (var ix = 0; ix < keyword.length(); ++ix) {
+            if (Character.toUpperCase(text.charAt(start + ix)) != keyword.charAt(ix)) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
     public boolean equals(
         final Object obj
     ) {
-        return (obj instanceof BooleanValue sv) && (_value.equals(sv._value));
+        return (obj instanceof BooleanValue sv) && (_value == sv._value);
     }
 
     @Override
     public int hashCode() {
-        return _value.hashCode();
+        return Boolean.hashCode(_value);
     }
 
     @Override
@@ -0,0 +1,96 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A ValueList of boolean values, backed by a bit set
+ */
+public class BooleanValueList extends ValueList {
+
+    private final long[] _bits;
+    private final int _size;
+
+    private BooleanValueList(
+        final long[] bits,
+        final int size
+    ) {
+        _bits = bits;
+        _size = size;
+    }
+
+    @Override
+    public BooleanValue get(
+        final int index
+    ) {
+        return BooleanValue.valueOf(getBoolean(index));
+    }
+
+    public boolean getBoolean(
+        final int index
+    ) {
+        Objects.checkIndex(index, _size);
+        return (_bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public ValueType getValueType() { return ValueType.BOOLEAN; }
+
+    @Override
+    public int size() { return _size; }
+
+    public boolean[] toBooleanArray() {
+        var result = new boolean[_size];
+        for (var bx = 0; bx < _size; ++bx) {
+            result[bx] = (_bits[bx >> 6] & (1L << bx)) != 0;
+        }
+        return result;
+    }
+
+    public static class Builder extends ValueList.Builder {
+        private long[] _bits = new long[1];
+        private int _size = 0;
+
+        @Override
+        public ParseStatus tryAdd(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) {
+            var bit = BooleanValue.tryParseBoolean(text, start, end);
+            if (bit < 0) {
+                return ParseStatus.INVALID_BOOLEAN;
+            }
+
+            if ((_size >> 6) == _bits.length) {
+                _bits = Arrays.copyOf(_bits, 2 * _bits.length);
+            }
+            if (bit == 1) {
+                _bits[_size >> 6] |= 1L << _size;
+            }
+            _size++;
+            return ParseStatus.OK;
+        }
+
+        @Override
+        public int size() { return _size; }
+
+        @Override
+        public void truncate(
+            final int size
+        ) {
+            // clear the discarded bits, so that they do not show up if the positions are reused
+            for (var bx = size; bx < _size; ++bx) {
+                _bits[bx >> 6] &= ~(1L << bx);
+            }
+            _size = Math.min(_size, size);
+        }
+
+        @Override
+        public BooleanValueList build() { return new BooleanValueList(_bits, _size); }
+    }
+}
@@ -9,45 +9,192 @@ import com.bearsnake.komando.exceptions.ParseException;
 
 public class FixedPointValue extends Value {
 
-    private final Long _value;
+    // Canonical instances for small values, which are by far the most common
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final FixedPointValue[] CACHE = new FixedPointValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (var cx = 0; cx < CACHE.length; ++cx) {
+            CACHE[cx] = new FixedPointValue(cx + CACHE_LOW);
+        }
+    }
+
+    private final long _value;
 
     public FixedPointValue(
-        final Long value
+        final long value
     ) {
         _value = value;
     }
 
+    /**
+     * Retained for binary compatibility with the boxed constructor - prefer the primitive one.
+     * @throws NullPointerException if value is null (a null value was never usable)
+     */
+    @Deprecated
+    public FixedPointValue(
+        final Long value
+    ) {
+        this(value.longValue());
+    }
+
+    /**
+     * Retrieves a FixedPointValue for the given value - a canonical instance if the value is small.
+     * Prefer this to the constructor.
+     */
+    public static FixedPointValue valueOf(
+        final long value
+    ) {
+        return ((value >= CACHE_LOW) && (value <= CACHE_HIGH))
+            ? CACHE[(int) value - CACHE_LOW]
+            : new FixedPointValue(value);
+    }
+
+    public final long getLong() {
+        return _value;
+    }
+
+    /**
+     * Retained for compatibility - boxes the value. Prefer getLong().
+     */
     public final Long getValue() {
         return _value;
     }
 
     @Override
     public String toString() {
-        return _value.toString();
+        return Long.toString(_value);
     }
 
     public static FixedPointValue parse(
         final String input
     ) throws ParseException {
-        boolean hexFlag = input.toUpperCase().startsWith("0X");
-        var chop = hexFlag ? input.substring(2) : input;
+        return parse(input, 0, input.length());
+    }
+
+    /**
+     * Parses a region of text, without copying it
+     */
+    public static FixedPointValue parse(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) throws ParseException {
+        return valueOf(parseLong(text, start, end));
+    }
+
+    /**
+     * As above, but producing a primitive
+     */
+    public static long parseLong(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) throws ParseException {
+        // Long.parseLong() accepts exactly what tryParseLong() does, and only allocates if it throws
+        var hexFlag = isHex(text, start, end);
         try {
-            return new FixedPointValue(Long.parseLong(chop, hexFlag ? 16 : 10));
+            return Long.parseLong(text, hexFlag ? start + 2 : start, end, hexFlag ? 16 : 10);
         } catch (NumberFormatException ex) {
-            throw new ParseException(String.format("'%s' is not a valid integer", input));
+            throw ParseStatus.INVALID_FIXED_POINT.toException(text.subSequence(start, end));
+        }
+    }
+
+    /**
+     * Parses a region of text without throwing - an invalid integer is reported through the status
+     */
+    public static ParseStatus tryParse(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final ParseResult result
+    ) {
+        var value = tryParseLong(text, start, end, result);
+        return result.isOk() ? result.set(ParseStatus.OK, valueOf(value)) : result.getStatus();
+    }
+
+    /**
+     * The conversion underlying the non-throwing parse methods - also used directly by value list builders and
+     * generated parsers. It accepts exactly what Long.parseLong() accepts (after an optional 0x prefix for
+     * hexadecimal), but reports an invalid integer through the result rather than by throwing.
+     * @param result receives the status - OK, or INVALID_FIXED_POINT. Its value is not set.
+     * @return the value, or 0 if the text is not a valid integer
+     */
+    public static long tryParseLong(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final ParseResult result
+    ) {
+        var hexFlag = isHex(text, start, end);
+        var radix = hexFlag ? 16 : 10;
+        var ix = hexFlag ? start + 2 : start;
+        if (ix >= end) {
+            return invalid(result);
+        }
+
+        // As in Long.parseLong(), we accumulate negatively, since the negative range is the larger one.
+        var negative = false;
+        var limit = -Long.MAX_VALUE;
+        var first = text.charAt(ix);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            } else if (first != '+') {
+                return invalid(result);
+            }
+            if (++ix == end) {
+                return invalid(result);
+            }
+        }
+
+        var multiplyLimit = limit / radix;
+        var accumulator = 0L;
+        while (ix < end) {
+            var digit = Character.digit(text.charAt(ix++), radix);
+            if ((digit < 0) || (accumulator < multiplyLimit)) {
+                return invalid(result);
+            }
+            accumulator *= radix;
+            if (accumulator < limit + digit) {
+                return invalid(result);
+            }
+            accumulator -= digit;
         }
+
+        result.set(ParseStatus.OK, null);
+        return negative ? accumulator : -accumulator;
+    }
+
+    private static boolean isHex(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        return (end - start > 2)
+               && (text.charAt(start) == '0')
+               && (Character.toUpperCase(text.charAt(start + 1)) == 'X');
+    }
+
+    private static long invalid(
+        final ParseResult result
+    ) {
+        result.fail(ParseStatus.INVALID_FIXED_POINT);
+        return 0;
     }
 
     @Override
     public boolean equals(
         final Object obj
     ) {
-        return (obj instanceof FixedPointValue sv) && (_value.equals(sv._value));
+        return (obj instanceof FixedPointValue sv) && (_value == sv._value);
     }
 
     @Override
     public int hashCode() {
-        return _value.hashCode();
+        return Long.hashCode(_value);
     }
 
     @Override
@@ -55,11 +202,11 @@ public class FixedPointValue extends Value {
         final Value o
     ) {
         if (o instanceof FixedPointValue fpv) {
-            return _value.compareTo(fpv._value);
+            return Long.compare(_value, fpv._value);
         } else if (o instanceof FloatingPointValue fpv) {
-            double flt = fpv.getValue();
+            double flt = fpv.getDouble();
             long fixed = (long) flt;
-            return _value.compareTo(fixed);
+            return Long.compare(_value, fixed);
         } else {
             throw new ValuesNotComparableException(this, o);
         }
@@ -0,0 +1,81 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A ValueList of fixed-point values, backed by a long[]
+ */
+public class FixedPointValueList extends ValueList {
+
+    private final long[] _values;
+    private final int _size;
+
+    private FixedPointValueList(
+        final long[] values,
+        final int size
+    ) {
+        _values = values;
+        _size = size;
+    }
+
+    @Override
+    public FixedPointValue get(
+        final int index
+    ) {
+        return FixedPointValue.valueOf(getLong(index));
+    }
+
+    public long getLong(
+        final int index
+    ) {
+        Objects.checkIndex(index, _size);
+        return _values[index];
+    }
+
+    @Override
+    public ValueType getValueType() { return ValueType.FIXED_POINT; }
+
+    @Override
+    public int size() { return _size; }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(_values, _size);
+    }
+
+    public static class Builder extends ValueList.Builder {
+        private long[] _values = new long[0];
+        private int _size = 0;
+        private final ParseResult _parseResult = new ParseResult();
+
+        @Override
+        public ParseStatus tryAdd(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) {
+            var value = FixedPointValue.tryParseLong(text, start, end, _parseResult);
+            if (!_parseResult.isOk()) {
+                return ParseStatus.INVALID_FIXED_POINT;
+            }
+            if (_size == _values.length) {
+                _values = Arrays.copyOf(_values, grow(_size));
+            }
+            _values[_size++] = value;
+            return ParseStatus.OK;
+        }
+
+        @Override
+        public int size() { return _size; }
+
+        @Override
+        public void truncate(int size) { _size = Math.min(_size, size); }
+
+        @Override
+        public FixedPointValueList build() { return new FixedPointValueList(_values, _size); }
+    }
+}
@@ -9,43 +9,186 @@ import com.bearsnake.komando.exceptions.ValuesNotComparableException;
 
 public class FloatingPointValue extends Value implements Comparable<Value> {
 
-    private final Double _value;
+    private final double _value;
 
     public FloatingPointValue(
-        final Double value
+        final double value
     ) {
         _value = value;
     }
 
+    /**
+     * Retained for binary compatibility with the boxed constructor - prefer the primitive one.
+     * @throws NullPointerException if value is null (a null value was never usable)
+     */
+    @Deprecated
+    public FloatingPointValue(
+        final Double value
+    ) {
+        this(value.doubleValue());
+    }
+
+    public final double getDouble() {
+        return _value;
+    }
+
+    /**
+     * Retained for compatibility - boxes the value. Prefer getDouble().
+     */
     public final Double getValue() {
         return _value;
     }
 
     @Override
     public String toString() {
-        return _value.toString();
+        return Double.toString(_value);
     }
 
     public static FloatingPointValue parse(
         final String input
     ) throws ParseException {
-        try {
-            return new FloatingPointValue(Double.parseDouble(input));
-        } catch (NumberFormatException ex) {
-            throw new ParseException(String.format("'%s' is not a valid floating-point value", input));
+        return new FloatingPointValue(parseDouble(input));
+    }
+
+    /**
+     * As above, but producing a primitive
+     */
+    public static double parseDouble(
+        final String input
+    ) throws ParseException {
+        if (!isValid(input, 0, input.length())) {
+            throw ParseStatus.INVALID_FLOATING_POINT.toException(input);
+        }
+        return Double.parseDouble(input);
+    }
+
+    /**
+     * Parses the text without throwing - an invalid floating-point value is reported through the status
+     */
+    public static ParseStatus tryParse(
+        final String input,
+        final ParseResult result
+    ) {
+        return isValid(input, 0, input.length())
+            ? result.set(ParseStatus.OK, new FloatingPointValue(Double.parseDouble(input)))
+            : result.fail(ParseStatus.INVALID_FLOATING_POINT);
+    }
+
+    /**
+     * Determines whether Double.parseDouble() would accept a region of text, so that we never have it throw.
+     * Follows the grammar given for Double.valueOf(String): surrounding whitespace, an optional sign, then NaN,
+     * Infinity, or a decimal or hexadecimal significand with an optional exponent (required for hexadecimal)
+     * and an optional type suffix.
+     */
+    public static boolean isValid(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        var ix = start;
+        var limit = end;
+        while ((ix < limit) && (text.charAt(ix) <= ' ')) {
+            ix++;
+        }
+        while ((limit > ix) && (text.charAt(limit - 1) <= ' ')) {
+            limit--;
+        }
+        if (ix == limit) {
+            return false;
+        }
+
+        var ch = text.charAt(ix);
+        if ((ch == '+') || (ch == '-')) {
+            ix++;
+        }
+        if (isWord(text, ix, limit, "NaN") || isWord(text, ix, limit, "Infinity")) {
+            return true;
+        }
+
+        if (ix < limit) {
+            var suffix = text.charAt(limit - 1);
+            if ((suffix == 'f') || (suffix == 'F') || (suffix == 'd') || (suffix == 'D')) {
+                limit--;
+            }
+        }
+
+        var hex = (limit - ix > 2) && (text.charAt(ix) == '0') && ((text.charAt(ix + 1) | 0x20) == 'x');
+        if (hex) {
+            ix += 2;
+        }
+
+        var digits = 0;
+        while ((ix < limit) && isDigit(text.charAt(ix), hex)) {
+            ix++;
+            digits++;
+        }
+        if ((ix < limit) && (text.charAt(ix) == '.')) {
+            ix++;
+            while ((ix < limit) && isDigit(text.charAt(ix), hex)) {
+                ix++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if ((ix < limit) && ((text.charAt(ix) | 0x20) == (hex ? 'p' : 'e'))) {
+            ix++;
+            if ((ix < limit) && ((text.charAt(ix) == '+') || (text.charAt(ix) == '-'))) {
+                ix++;
+            }
+            var exponentDigits = 0;
+            while ((ix < limit) && isDigit(text.charAt(ix), false)) {
+                ix++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        } else if (hex) {
+            return false;
+        }
+
+        return ix == limit;
+    }
+
+    private static boolean isDigit(
+        final char ch,
+        final boolean hex
+    ) {
+        return ((ch >= '0') && (ch <= '9'))
+               || (hex && (((ch | 0x20) >= 'a') && ((ch | 0x20) <= 'f')));
+    }
+
+    private static boolean isWord(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final String word
+    ) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (var ix = 0; ix < word.length(); ++ix) {
+            if (text.charAt(start + ix) != word.charAt(ix)) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
     public boolean equals(
         final Object obj
     ) {
-        return (obj instanceof FloatingPointValue sv) && (_value.equals(sv._value));
+        return (obj instanceof FloatingPointValue sv)
+               && (Double.doubleToLongBits(_value) == Double.doubleToLongBits(sv._value));
     }
 
     @Override
     public int hashCode() {
-        return _value.hashCode();
+        return Double.hashCode(_value);
     }
 
     @Override
@@ -53,11 +196,11 @@ public class FloatingPointValue extends Value implements Comparable<Value> {
         final Value o
     ) {
         if (o instanceof FloatingPointValue fpv) {
-            return _value.compareTo(fpv._value);
+            return Double.compare(_value, fpv._value);
         } else if (o instanceof FixedPointValue fpv) {
-            var fixed = fpv.getValue();
+            var fixed = fpv.getLong();
             double dbl = (double) fixed;
-            return _value.compareTo(dbl);
+            return Double.compare(_value, dbl);
         } else {
             throw new ValuesNotComparableException(this, o);
         }
@@ -0,0 +1,81 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A ValueList of floating-point values, backed by a double[]
+ */
+public class FloatingPointValueList extends ValueList {
+
+    private final double[] _values;
+    private final int _size;
+
+    private FloatingPointValueList(
+        final double[] values,
+        final int size
+    ) {
+        _values = values;
+        _size = size;
+    }
+
+    @Override
+    public FloatingPointValue get(
+        final int index
+    ) {
+        return new FloatingPointValue(getDouble(index));
+    }
+
+    public double getDouble(
+        final int index
+    ) {
+        Objects.checkIndex(index, _size);
+        return _values[index];
+    }
+
+    @Override
+    public ValueType getValueType() { return ValueType.FLOATING_POINT; }
+
+    @Override
+    public int size() { return _size; }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(_values, _size);
+    }
+
+    public static class Builder extends ValueList.Builder {
+        private double[] _values = new double[0];
+        private int _size = 0;
+
+        @Override
+        public ParseStatus tryAdd(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) {
+            if (!FloatingPointValue.isValid(text, start, end)) {
+                return ParseStatus.INVALID_FLOATING_POINT;
+            }
+
+            var value = Double.parseDouble(text.subSequence(start, end).toString());
+            if (_size == _values.length) {
+                _values = Arrays.copyOf(_values, grow(_size));
+            }
+            _values[_size++] = value;
+            return ParseStatus.OK;
+        }
+
+        @Override
+        public int size() { return _size; }
+
+        @Override
+        public void truncate(int size) { _size = Math.min(_size, size); }
+
+        @Override
+        public FloatingPointValueList build() { return new FloatingPointValueList(_values, _size); }
+    }
+}
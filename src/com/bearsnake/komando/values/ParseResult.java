@@ -0,0 +1,39 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+/**
+ * Receives the outcome of a non-throwing parse - the status, and the value if the status is OK.
+ * An instance may be reused for any number of parses, but it is not thread-safe.
+ */
+public final class ParseResult {
+
+    private ParseStatus _status = ParseStatus.OK;
+    private Value _value = null;
+
+    public ParseStatus getStatus() { return _status; }
+    public boolean isOk() { return _status == ParseStatus.OK; }
+
+    /**
+     * Retrieves the value which was parsed, or null if the parse failed
+     * (or was a conversion to a primitive, such as FixedPointValue.tryParseLong())
+     */
+    public Value getValue() { return _value; }
+
+    ParseStatus set(
+        final ParseStatus status,
+        final Value value
+    ) {
+        _status = status;
+        _value = value;
+        return status;
+    }
+
+    ParseStatus fail(
+        final ParseStatus status
+    ) {
+        return set(status, null);
+    }
+}
@@ -0,0 +1,57 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import com.bearsnake.komando.exceptions.ParseException;
+
+/**
+ * The outcome of one of the non-throwing tryParse() methods.
+ * A failure describes itself with the same message which the corresponding parse() method would have given
+ * to its ParseException - but the message is only formatted if it is asked for, and no exception is created.
+ */
+public enum ParseStatus {
+    OK(null),
+    INVALID_BOOLEAN("'%s' cannot be interpreted as a boolean value"),
+    INVALID_FIXED_POINT("'%s' is not a valid integer"),
+    INVALID_FLOATING_POINT("'%s' is not a valid floating-point value"),
+    IMPROPERLY_DELIMITED_STRING("Improperly-delimited string value"),
+    UNTERMINATED_STRING("Missing closing delimiter for string value");
+
+    private final String _format;
+
+    ParseStatus(
+        final String format
+    ) {
+        _format = format;
+    }
+
+    public boolean isOk() { return this == OK; }
+
+    /**
+     * Produces the message for a failure, as ParseException.getMessage() would give it
+     * @param input the text which could not be parsed
+     */
+    public String getMessage(
+        final CharSequence input
+    ) {
+        return ParseException.MESSAGE_PREFIX + getDetail(input);
+    }
+
+    /**
+     * Produces the exception which the throwing API reports for a failure
+     * @param input the text which could not be parsed
+     */
+    public ParseException toException(
+        final CharSequence input
+    ) {
+        return new ParseException(getDetail(input));
+    }
+
+    private String getDetail(
+        final CharSequence input
+    ) {
+        return (this == OK) ? "" : String.format(_format, input);
+    }
+}
@@ -29,6 +29,21 @@ public class StringValue extends Value {
     public static StringValue parse(
         final String input
     ) throws ParseException {
+        var result = new ParseResult();
+        var status = tryParse(input, result);
+        if (!status.isOk()) {
+            throw status.toException(input);
+        }
+        return (StringValue) result.getValue();
+    }
+
+    /**
+     * Parses the text without throwing - a badly-delimited string is reported through the status
+     */
+    public static ParseStatus tryParse(
+        final String input,
+        final ParseResult result
+    ) {
         var sb = new StringBuilder();
         var delimited = false;
         var inDelimiter = false;
@@ -42,17 +57,17 @@ public class StringValue extends Value {
             } else if (inDelimiter && (ch == delimiter)) {
                 inDelimiter = false;
             } else if (!inDelimiter && delimited) {
-                throw new ParseException("Improperly-delimited string value");
+                return result.fail(ParseStatus.IMPROPERLY_DELIMITED_STRING);
             } else {
                 sb.append(ch);
             }
         }
 
         if (inDelimiter) {
-            throw new ParseException("Missing closing delimiter for string value");
+            return result.fail(ParseStatus.UNTERMINATED_STRING);
         }
 
-        return new StringValue(sb.toString());
+        return result.set(ParseStatus.OK, new StringValue(sb.toString()));
     }
 
     @Override
@@ -0,0 +1,162 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A ValueList of string values.
+ * Rather than holding a String for each value, we hold slices (offset and length) of the command line
+ * tokens from which the values came. A String is only created when a value is requested - and not even then
+ * if the list has a StringValueTable which already holds the value.
+ */
+public class StringValueList extends ValueList {
+
+    private final CharSequence[] _sources;
+    private final int[] _sourceIndices;
+    private final int[] _starts;
+    private final int[] _ends;
+    private final int _size;
+    private final StringValueTable _table;
+
+    private StringValueList(
+        final CharSequence[] sources,
+        final int[] sourceIndices,
+        final int[] starts,
+        final int[] ends,
+        final int size,
+        final StringValueTable table
+    ) {
+        _sources = sources;
+        _sourceIndices = sourceIndices;
+        _starts = starts;
+        _ends = ends;
+        _size = size;
+        _table = table;
+    }
+
+    @Override
+    public StringValue get(
+        final int index
+    ) {
+        if (_table != null) {
+            Objects.checkIndex(index, _size);
+            return _table.intern(_sources[_sourceIndices[index]], _starts[index], _ends[index]);
+        }
+        return new StringValue(getString(index));
+    }
+
+    public String getString(
+        final int index
+    ) {
+        if (_table != null) {
+            return get(index).getValue();
+        }
+        Objects.checkIndex(index, _size);
+        return _sources[_sourceIndices[index]].subSequence(_starts[index], _ends[index]).toString();
+    }
+
+    @Override
+    public ValueType getValueType() { return ValueType.STRING; }
+
+    @Override
+    public int size() { return _size; }
+
+    /**
+     * Converts a value directly from its slice of the source text, and appends it to a builder
+     * (presumably for some other value type)
+     * @return the outcome of the conversion - the value is only appended if it is OK
+     */
+    public ParseStatus tryAddTo(
+        final int index,
+        final ValueList.Builder builder
+    ) {
+        Objects.checkIndex(index, _size);
+        return builder.tryAdd(_sources[_sourceIndices[index]], _starts[index], _ends[index]);
+    }
+
+    public String[] toStringArray() {
+        var result = new String[_size];
+        for (var sx = 0; sx < _size; ++sx) {
+            result[sx] = getString(sx);
+        }
+        return result;
+    }
+
+    public static class Builder extends ValueList.Builder {
+        private final StringValueTable _table;
+        private CharSequence[] _sources = new CharSequence[1];
+        private int _sourceCount = 0;
+        private int[] _sourceIndices = new int[0];
+        private int[] _starts = new int[0];
+        private int[] _ends = new int[0];
+        private int _size = 0;
+
+        public Builder() {
+            this(null);
+        }
+
+        /**
+         * @param table table of canonical values to be produced by the resulting lists, or null
+         */
+        public Builder(
+            final StringValueTable table
+        ) {
+            _table = table;
+        }
+
+        /**
+         * Records a slice of the given text. The text must not change afterward.
+         */
+        @Override
+        public void add(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) {
+            // Successive values almost always come from the same token, so we only check the most recent source.
+            if ((_sourceCount == 0) || (_sources[_sourceCount - 1] != text)) {
+                if (_sourceCount == _sources.length) {
+                    _sources = Arrays.copyOf(_sources, 2 * _sourceCount);
+                }
+                _sources[_sourceCount++] = text;
+            }
+
+            if (_size == _starts.length) {
+                var capacity = grow(_size);
+                _sourceIndices = Arrays.copyOf(_sourceIndices, capacity);
+                _starts = Arrays.copyOf(_starts, capacity);
+                _ends = Arrays.copyOf(_ends, capacity);
+            }
+
+            _sourceIndices[_size] = _sourceCount - 1;
+            _starts[_size] = start;
+            _ends[_size] = end;
+            _size++;
+        }
+
+        @Override
+        public ParseStatus tryAdd(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) {
+            add(text, start, end);
+            return ParseStatus.OK;
+        }
+
+        @Override
+        public int size() { return _size; }
+
+        @Override
+        public void truncate(int size) { _size = Math.min(_size, size); }
+
+        @Override
+        public StringValueList build() {
+            return new StringValueList(_sources, _sourceIndices, _starts, _ends, _size, _table);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import com.bearsnake.komando.exceptions.ParseException;
+
+/**
+ * A bounded table of canonical StringValue instances, so that string values which recur from one command line
+ * to the next (host names, queue names, and the like) are represented by a single shared instance.
+ * A value which is found in the table is produced without creating any new objects at all.
+ * The table has a fixed number of slots, each holding at most one value. A new value replaces whatever
+ * occupied its slot, so the table never grows - and values which do not recur simply pass through it.
+ * Values longer than MAX_LENGTH characters are never retained.
+ * The table is thread-safe without locking: slots are read and replaced independently, and since StringValue
+ * is immutable, a thread which sees a stale (or no) entry merely creates a new instance.
+ */
+public final class StringValueTable {
+
+    public static final int MAX_LENGTH = 128;
+
+    /**
+     * Largest number of slots - the largest power of two which is a valid array size
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final StringValue[] _slots;
+    private final int _mask;
+
+    /**
+     * @param capacity number of slots, which is rounded up to a power of two, and reduced to MAXIMUM_CAPACITY
+     * @throws IllegalArgumentException if capacity is less than 1
+     */
+    public StringValueTable(
+        final int capacity
+    ) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        var size = (capacity > 1) ? Integer.highestOneBit(Math.min(capacity, MAXIMUM_CAPACITY) - 1) << 1 : 1;
+        _slots = new StringValue[size];
+        _mask = size - 1;
+    }
+
+    public int getCapacity() { return _slots.length; }
+
+    /**
+     * Retrieves the canonical StringValue for a region of text
+     */
+    public StringValue intern(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        var length = end - start;
+        if (length > MAX_LENGTH) {
+            return new StringValue(text.subSequence(start, end).toString());
+        }
+
+        var hash = ((text instanceof String str) && (start == 0) && (end == str.length()))
+            ? str.hashCode()
+            : hash(text, start, end);
+        var slot = (hash ^ (hash >>> 16)) & _mask;
+        var existing = _slots[slot];
+        if ((existing != null) && matches(existing.getValue(), text, start, end)) {
+            return existing;
+        }
+
+        var value = new StringValue(text.subSequence(start, end).toString());
+        _slots[slot] = value;
+        return value;
+    }
+
+    /**
+     * As StringValue.parse(), but producing the canonical instance
+     */
+    public StringValue parse(
+        final String input
+    ) throws ParseException {
+        var result = new ParseResult();
+        var status = tryParse(input, result);
+        if (!status.isOk()) {
+            throw status.toException(input);
+        }
+        return (StringValue) result.getValue();
+    }
+
+    /**
+     * As StringValue.tryParse(), but producing the canonical instance
+     */
+    public ParseStatus tryParse(
+        final String input,
+        final ParseResult result
+    ) {
+        if (input.isEmpty() || ((input.charAt(0) != '\'') && (input.charAt(0) != '"'))) {
+            return result.set(ParseStatus.OK, intern(input, 0, input.length()));
+        }
+
+        var status = StringValue.tryParse(input, result);
+        if (status.isOk()) {
+            var value = ((StringValue) result.getValue()).getValue();
+            result.set(status, intern(value, 0, value.length()));
+        }
+        return status;
+    }
+
+    /**
+     * Same result as String.hashCode() would produce for the region
+     */
+    private static int hash(
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        var hash = 0;
+        for (var ix = start; ix < end; ++ix) {
+            hash = 31 * hash + text.charAt(ix);
+        }
+        return hash;
+    }
+
+    private static boolean matches(
+        final String value,
+        final CharSequence text,
+        final int start,
+        final int end
+    ) {
+        if (value.length() != end - start) {
+            return false;
+        }
+
+        if (text instanceof String str) {
+            return value.regionMatches(0, str, start, end - start);
+        }
+
+        for (var ix = start; ix < end; ++ix) {
+            if (value.charAt(ix - start) != text.charAt(ix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -35,6 +35,47 @@ public abstract class Value implements Comparable<Value> {
         };
     }
 
+    /**
+     * As parseText(), but without throwing - the value, or the reason there is none, is given in the result
+     */
+    public static ParseStatus tryParseText(
+        final String input,
+        final ValueType valueType,
+        final ParseResult result
+    ) {
+        return switch (valueType) {
+            case BOOLEAN -> BooleanValue.tryParse(input, 0, input.length(), result);
+            case FIXED_POINT -> FixedPointValue.tryParse(input, 0, input.length(), result);
+            case FLOATING_POINT -> FloatingPointValue.tryParse(input, result);
+            case STRING -> StringValue.tryParse(input, result);
+        };
+    }
+
+    /**
+     * Converts a region of text to a value of the given type.
+     * Unlike parseText(), no quote processing is done - the text is expected to have been unquoted already.
+     * Fixed-point and boolean values are converted in place, without copying the region into a String.
+     * @param text text containing the value
+     * @param start index of the first character of the value
+     * @param end index one past the last character of the value
+     * @param valueType type of value to be produced
+     * @return the converted value
+     * @throws ParseException if the text cannot be interpreted as the requested type
+     */
+    public static Value convert(
+        final CharSequence text,
+        final int start,
+        final int end,
+        final ValueType valueType
+    ) throws ParseException {
+        return switch (valueType) {
+            case BOOLEAN -> BooleanValue.parse(text, start, end);
+            case FIXED_POINT -> FixedPointValue.parse(text, start, end);
+            case FLOATING_POINT -> FloatingPointValue.parse(text.subSequence(start, end).toString());
+            case STRING -> new StringValue(text.subSequence(start, end).toString());
+        };
+    }
+
     @Override
     public abstract String toString();
 }
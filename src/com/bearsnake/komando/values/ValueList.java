@@ -0,0 +1,90 @@
+// Komando project
+// Copyright © 2023 by Kurt Duncan, BearSnake LLC
+// All Rights Reserved
+
+package com.bearsnake.komando.values;
+
+import com.bearsnake.komando.exceptions.ParseException;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, compact list of the values given for an ArgumentSwitch.
+ * Each subclass stores its values in a form suited to its value type (primitive arrays for numbers,
+ * a bit set for booleans, slices of the command line text for strings) and offers primitive accessors
+ * for reading them. Value objects are only created when they are requested through the List interface.
+ */
+public abstract class ValueList extends AbstractList<Value> implements RandomAccess {
+
+    public abstract ValueType getValueType();
+
+    /**
+     * Creates a builder for a list of the given value type
+     */
+    public static Builder createBuilder(
+        final ValueType valueType
+    ) {
+        return createBuilder(valueType, null);
+    }
+
+    /**
+     * Creates a builder for a list of the given value type.
+     * String values produced by the list are taken from the given table, if there is one.
+     */
+    public static Builder createBuilder(
+        final ValueType valueType,
+        final StringValueTable table
+    ) {
+        return switch (valueType) {
+            case BOOLEAN -> new BooleanValueList.Builder();
+            case FIXED_POINT -> new FixedPointValueList.Builder();
+            case FLOATING_POINT -> new FloatingPointValueList.Builder();
+            case STRING -> new StringValueList.Builder(table);
+        };
+    }
+
+    /**
+     * Accumulates values, converting them directly from the command line text.
+     * Lists produced by build() share storage with the builder. The builder may continue to add values
+     * afterward, but values must not be truncated away while a previously-built list is still in use.
+     */
+    public abstract static class Builder {
+
+        /**
+         * Converts a region of (already unquoted) text, and appends the resulting value
+         * @throws ParseException if the text cannot be interpreted as this builder's value type
+         */
+        public void add(
+            final CharSequence text,
+            final int start,
+            final int end
+        ) throws ParseException {
+            var status = tryAdd(text, start, end);
+            if (!status.isOk()) {
+                throw status.toException(text.subSequence(start, end));
+            }
+        }
+
+        /**
+         * As add(), but without throwing - if the text cannot be converted, nothing is appended
+         * and the reason is given by the returned status
+         */
+        public abstract ParseStatus tryAdd(CharSequence text, int start, int end);
+
+        public abstract int size();
+
+        /**
+         * Discards values so that only the first size values remain
+         */
+        public abstract void truncate(int size);
+
+        public abstract ValueList build();
+    }
+
+    static int grow(
+        final int capacity
+    ) {
+        return Math.max(8, capacity + (capacity >> 1));
+    }
+}